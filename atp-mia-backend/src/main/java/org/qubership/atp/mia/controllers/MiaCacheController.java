@@ -25,6 +25,7 @@ import org.qubership.atp.mia.model.impl.request.ExecutionRequest;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.cache.MiaCacheService;
 import org.qubership.atp.mia.service.execution.ProcessService;
+import org.qubership.atp.mia.service.execution.RestClientService;
 import org.qubership.atp.mia.service.execution.SshExecutionHelperService;
 import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
@@ -39,6 +40,7 @@ public class MiaCacheController implements MiaCacheControllerApi {
 
     private final MiaCacheService miaCacheService;
     private final SshExecutionHelperService sshExecutionHelperService;
+    private final RestClientService restClientService;
     private final ProcessService processService;
     private final MiaContext miaContext;
     private final CacheManager cacheManager;
@@ -57,6 +59,7 @@ public class MiaCacheController implements MiaCacheControllerApi {
     public ResponseEntity<Boolean> resetEnvironmentCaches(UUID projectId) {
         miaCacheService.clearEnvironmentsCache(cacheManager, projectId);
         sshExecutionHelperService.resetCache();
+        restClientService.resetCache();
         return ResponseEntity.ok(true);
     }
 
@@ -65,6 +68,7 @@ public class MiaCacheController implements MiaCacheControllerApi {
     @AuditAction(auditAction = "Reset Pool Cache for project - {{#projectId}}")
     public ResponseEntity<Boolean> resetPoolCache(UUID projectId) {
         sshExecutionHelperService.resetCache();
+        restClientService.resetCache();
         return ResponseEntity.ok(true);
     }
 
@@ -17,10 +17,24 @@
 
 package org.qubership.atp.mia.kafka.listeners;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 import org.qubership.atp.mia.kafka.configuration.KafkaConfiguration;
 import org.qubership.atp.mia.kafka.model.notification.EnvironmentUpdateEvent;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Environment;
+import org.qubership.atp.mia.repo.impl.pool.rest.RestClientPool;
+import org.qubership.atp.mia.repo.impl.pool.ssh.SshSessionPool;
 import org.qubership.atp.mia.service.cache.MiaCacheService;
-import org.qubership.atp.mia.service.execution.SshExecutionHelperService;
+import org.qubership.atp.mia.service.configuration.EnvironmentsService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -37,11 +51,17 @@ import lombok.extern.slf4j.Slf4j;
 public class EnvironmentUpdateListener {
 
     private final MiaCacheService miaCacheService;
-    private final SshExecutionHelperService sshExecutionHelperService;
     private final CacheManager cacheManager;
+    private final EnvironmentsService environmentsService;
+    private final SshSessionPool sshSessionPool;
+    private final RestClientPool restClientPool;
 
     /**
      * Listen start for environment updates to clear cache.
+     * Cached environments of project are compared with updated ones, SSH sessions and REST clients
+     * of changed connections are retired at once, sessions and clients of not changed connections stay alive.
+     * Pools still retire outdated session or client on next request to server, e.g. when environment
+     * was not cached or could not be loaded here.
      */
     @KafkaListener(
             id = "${kafka.env.update.listen.group}",
@@ -52,7 +72,56 @@ public class EnvironmentUpdateListener {
     )
     public void listenToEnvironmentService(@Payload EnvironmentUpdateEvent event) {
         log.info("Environment Update Event Listened for project id : {}", event.getProjectId());
+        final List<Environment> cachedEnvironments =
+                miaCacheService.getCachedEnvironments(cacheManager, event.getProjectId());
         miaCacheService.clearEnvironmentsCache(cacheManager, event.getProjectId());
-        sshExecutionHelperService.resetCache();
+        final Set<Connection> changedConnections = getChangedConnections(cachedEnvironments, event.getProjectId());
+        if (!changedConnections.isEmpty()) {
+            log.info("{} connection(s) are changed in project {}, retire their SSH sessions and REST clients",
+                    changedConnections.size(), event.getProjectId());
+            sshSessionPool.retireSessions(changedConnections);
+            restClientPool.retireClients(changedConnections);
+        }
+    }
+
+    /**
+     * Gets cached connections which are changed or removed in updated environments.
+     *
+     * @param cachedEnvironments environments cached before update
+     * @param projectId          project ID
+     * @return outdated connections
+     */
+    private Set<Connection> getChangedConnections(List<Environment> cachedEnvironments, UUID projectId) {
+        final Map<UUID, List<Connection>> cachedConnections = new LinkedHashMap<>();
+        cachedEnvironments.stream()
+                .filter(environment -> environment.getId() != null)
+                .forEach(environment -> cachedConnections.merge(environment.getId(), connections(environment),
+                        (first, second) -> Stream.concat(first.stream(), second.stream()).toList()));
+        final Set<Connection> changed = new HashSet<>();
+        cachedConnections.forEach((environmentId, connections) -> {
+            final Map<UUID, Connection> actual = new HashMap<>();
+            try {
+                connections(environmentsService.getEnvironmentsFull(environmentId, projectId))
+                        .forEach(connection -> actual.put(connection.getId(), connection));
+            } catch (RuntimeException e) {
+                log.warn("Can't load updated environment {}, its sessions are retired on next request: {}",
+                        environmentId, e.getMessage());
+                return;
+            }
+            connections.stream()
+                    .filter(connection -> !Objects.equals(actual.get(connection.getId()), connection))
+                    .forEach(changed::add);
+        });
+        return changed;
+    }
+
+    private static List<Connection> connections(Environment environment) {
+        if (environment == null || environment.getSystems() == null) {
+            return List.of();
+        }
+        return environment.getSystems().stream()
+                .filter(system -> system.getConnections() != null)
+                .flatMap(system -> system.getConnections().stream())
+                .toList();
     }
 }
@@ -37,13 +37,31 @@ public class ConnectionProps {
     private final long timeOutFileDownload;
     private final int channelsPerSession;
     private final String sshServerKexAlgorithms;
+    private final boolean execChannel;
+    private final boolean streamOutput;
+    private final boolean skipUnchangedUploads;
+    private final boolean uploadChecksum;
 
     /**
-     * Constructor with parameters.
+     * Constructor with parameters, 'exec' channel, output streaming and skipping of unchanged uploads
+     * are turned off.
      */
     public ConnectionProps(String hostname, Integer port, String username, String password, String key,
                            String passphrase, boolean pty, int timeoutConnect, int timeoutExecute,
                            long timeOutFileDownload, int channelsPerSession, String sshServerKexAlgorithms) {
+        this(hostname, port, username, password, key, passphrase, pty, timeoutConnect, timeoutExecute,
+                timeOutFileDownload, channelsPerSession, sshServerKexAlgorithms, false, false, false, false);
+    }
+
+    /**
+     * Constructor with parameters.
+     * All flags are part of equals/hashCode, so props can be used as key of connection pool.
+     */
+    public ConnectionProps(String hostname, Integer port, String username, String password, String key,
+                           String passphrase, boolean pty, int timeoutConnect, int timeoutExecute,
+                           long timeOutFileDownload, int channelsPerSession, String sshServerKexAlgorithms,
+                           boolean execChannel, boolean streamOutput, boolean skipUnchangedUploads,
+                           boolean uploadChecksum) {
         this.hostname = hostname;
         this.port = port;
         this.username = username;
@@ -56,6 +74,10 @@ public class ConnectionProps {
         this.timeOutFileDownload = timeOutFileDownload;
         this.channelsPerSession = channelsPerSession;
         this.sshServerKexAlgorithms = sshServerKexAlgorithms;
+        this.execChannel = execChannel;
+        this.streamOutput = streamOutput;
+        this.skipUnchangedUploads = skipUnchangedUploads;
+        this.uploadChecksum = uploadChecksum;
     }
 
     /**
@@ -65,7 +87,9 @@ public class ConnectionProps {
         return new ConnectionProps(server.getHost(), server.getPort(), server.getUser(),
                 server.getPass(), server.getKey(), server.getPassPhrase(),
                 server.getPty(), server.getTimeoutConnect(), server.getTimeoutExecute(),
-                server.getTimeOutFileDownload(), server.getChannelsPerSession(), server.getSshServerKexAlgorithms());
+                server.getTimeOutFileDownload(), server.getChannelsPerSession(), server.getSshServerKexAlgorithms(),
+                server.getExecChannel(), server.getStreamOutput(), server.getSkipUnchangedUploads(),
+                server.getUploadChecksum());
     }
 
     @Override
@@ -83,12 +107,17 @@ public class ConnectionProps {
                 && Objects.equals(password, that.password)
                 && Objects.equals(passphrase, that.passphrase)
                 && Objects.equals(key, that.key)
-                && Objects.equals(pty, that.pty);
+                && Objects.equals(pty, that.pty)
+                && Objects.equals(execChannel, that.execChannel)
+                && Objects.equals(streamOutput, that.streamOutput)
+                && Objects.equals(skipUnchangedUploads, that.skipUnchangedUploads)
+                && Objects.equals(uploadChecksum, that.uploadChecksum);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hostname, port, username, password, passphrase, key, pty);
+        return Objects.hash(hostname, port, username, password, passphrase, key, pty, execChannel, streamOutput,
+                skipUnchangedUploads, uploadChecksum);
     }
 
     @Override
@@ -111,6 +140,10 @@ public class ConnectionProps {
                 .add("port='" + port + "'")
                 .add("username='" + username + "'")
                 .add("pty=" + pty)
+                .add("execChannel=" + execChannel)
+                .add("streamOutput=" + streamOutput)
+                .add("skipUnchangedUploads=" + skipUnchangedUploads)
+                .add("uploadChecksum=" + uploadChecksum)
                 .add("timeoutConnect=" + timeoutConnect)
                 .add("timeoutExecute=" + timeoutExecute)
                 .toString();
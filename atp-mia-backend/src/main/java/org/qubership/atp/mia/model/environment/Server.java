@@ -17,6 +17,7 @@
 
 package org.qubership.atp.mia.model.environment;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -133,10 +134,119 @@ public class Server {
         }
     }
 
+    /**
+     * Get flag to execute commands via 'exec' channel instead of 'shell'. If not defined or incorrect value then
+     * 'false'.
+     *
+     * @return execChannel from environment. {@code false} if not defined or incorrect value
+     */
+    public boolean getExecChannel() {
+        return Boolean.parseBoolean(getProperty(name + "_execChannel"));
+    }
+
+    /**
+     * Get flag to stream command output directly to local log instead of redirecting it to remote log file
+     * and downloading it afterwards. Works only together with 'exec' channel. If not defined or incorrect value
+     * then 'false'.
+     *
+     * @return streamOutput from environment. {@code false} if not defined or incorrect value
+     */
+    public boolean getStreamOutput() {
+        return Boolean.parseBoolean(getProperty(name + "_streamOutput"));
+    }
+
+    /**
+     * Get flag to skip upload of files which are not changed since previous upload to the same remote path.
+     * Remote file is compared with fingerprint of local file by size and modification time.
+     * Generated files get new modification time on each generation, so they are skipped only when
+     * comparison by checksum is turned on; otherwise it helps for static files only.
+     * If not defined or incorrect value then 'false'.
+     *
+     * @return skipUnchangedUploads from environment. {@code false} if not defined or incorrect value
+     */
+    public boolean getSkipUnchangedUploads() {
+        return Boolean.parseBoolean(getProperty(name + "_skipUnchangedUploads"));
+    }
+
+    /**
+     * Get flag to compare remote files by MD5 checksum ('md5sum' command) instead of modification time
+     * when unchanged uploads are skipped. If not defined or incorrect value then 'false'.
+     *
+     * @return uploadChecksum from environment. {@code false} if not defined or incorrect value
+     */
+    public boolean getUploadChecksum() {
+        return Boolean.parseBoolean(getProperty(name + "_uploadChecksum"));
+    }
+
+    /**
+     * Get flag to write generated event files directly to SFTP stream instead of writing them locally
+     * and uploading afterwards. If not defined or incorrect value then 'false'.
+     *
+     * @return streamGeneratedFiles from environment. {@code false} if not defined or incorrect value
+     */
+    public boolean getStreamGeneratedFiles() {
+        return Boolean.parseBoolean(getProperty(name + "_streamGeneratedFiles"));
+    }
+
+    /**
+     * Get flag to keep local copy of generated event files when they are streamed to server.
+     * Local copy is needed to show generated files in POT. If not defined or incorrect value then 'true'.
+     *
+     * @return keepGeneratedFiles from environment. {@code true} if not defined or incorrect value
+     */
+    public boolean getKeepGeneratedFiles() {
+        return !"false".equalsIgnoreCase(getProperty(name + "_keepGeneratedFiles"));
+    }
+
+    /**
+     * Get amount of trailing bytes of command log to download when full log is not needed
+     * (there are no markers, variables or files to extract from log). If not defined or incorrect value then 0,
+     * i.e. full log is downloaded.
+     *
+     * @return logTailBytes from environment. 0 if not defined or incorrect value
+     */
+    public long getLogTailBytes() {
+        return getBytes("_logTailBytes");
+    }
+
+    /**
+     * Get amount of leading bytes of command log to download together with tail (see {@link #getLogTailBytes()}).
+     * If not defined or incorrect value then 0, i.e. only tail is downloaded.
+     *
+     * @return logHeadBytes from environment. 0 if not defined or incorrect value
+     */
+    public long getLogHeadBytes() {
+        return getBytes("_logHeadBytes");
+    }
+
+    private long getBytes(String suffix) {
+        final String bytes = getProperty(name + suffix);
+        if (bytes != null) {
+            try {
+                return Math.max(0, Long.parseLong(bytes.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Incorrect value of {}{}: {}", name, suffix, bytes);
+            }
+        }
+        return 0;
+    }
+
     public String getSshServerKexAlgorithms() {
         return getProperty(name + "_kex");
     }
 
+    /**
+     * Get compression of HTTP (REST, SOAP) connection: 'gzip' or 'deflate' - request bodies are compressed
+     * and compressed responses are accepted, 'none' - compression is not negotiated at all.
+     * If not defined or another value then only compressed responses are accepted.
+     *
+     * @return compression from environment in lower case, NULL if not defined
+     */
+    public String getCompression() {
+        final String compression = getProperty("compression");
+        return compression == null ? null : compression.trim().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Get property from connection.
      *
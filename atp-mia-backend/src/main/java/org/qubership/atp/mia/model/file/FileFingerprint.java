@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.model.file;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Fingerprint of local file: size, modification time and MD5 hash of content.
+ * MD5 hash is {@code null} when it was not requested, i.e. checksum comparison is turned off.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class FileFingerprint {
+
+    private final long size;
+    private final long lastModified;
+    private final String md5;
+
+    /**
+     * Whether fingerprint describes the same version of file, i.e. size and modification time are not changed.
+     *
+     * @param size         current size of file
+     * @param lastModified current modification time of file in milliseconds
+     * @return true if size and modification time are the same
+     */
+    public boolean isSameVersion(long size, long lastModified) {
+        return this.size == size && this.lastModified == lastModified;
+    }
+
+    /**
+     * Gets modification time in seconds as it's stored by SFTP.
+     *
+     * @return modification time in seconds
+     */
+    public int getLastModifiedSeconds() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(lastModified);
+    }
+}
@@ -17,14 +17,21 @@
 
 package org.qubership.atp.mia.model.impl.generation;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.qubership.atp.mia.exceptions.testdata.MatrixEthalonReadFailException;
 import org.qubership.atp.mia.exceptions.testdata.MatrixEthalonWriteFailException;
 import org.qubership.atp.mia.model.configuration.CommonConfiguration;
@@ -47,6 +54,7 @@ public class Template {
     private final String outputFileName;
     private String content;
     private Path generatedFile;
+    private boolean streamEvaluated;
 
     /**
      * Constructs a Template instance using the provided context and file parameters. This constructor resolves the full
@@ -94,6 +102,35 @@ public class Template {
         writeContent();
     }
 
+    /**
+     * Generates file from ethalon directly into output stream.
+     * Content is evaluated as whole in the same way as by {@link #evaluateFile()}, so macros and variables
+     * which take several lines are evaluated correctly; only writing to local file and reading it for upload
+     * are skipped. Content is evaluated on the first call only: when upload is retried, the same content
+     * is written again without evaluation.
+     *
+     * @param outputStream  stream to write generated content, it isn't closed
+     * @param keepLocalCopy whether generated content should be also written to local file (see {@link #getFile()})
+     */
+    public void evaluateFile(OutputStream outputStream, boolean keepLocalCopy) {
+        if (!streamEvaluated) {
+            evaluateContent(miaContext.getFlowData().getParameters());
+            streamEvaluated = true;
+        }
+        final Path localFile = miaContext.getLogPath().resolve(outputFileName);
+        try (OutputStream localCopy = keepLocalCopy ? Files.newOutputStream(localFile) : NullOutputStream.INSTANCE) {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new TeeOutputStream(CloseShieldOutputStream.wrap(outputStream), localCopy), charset));
+            writer.write(content);
+            writer.flush();
+        } catch (IOException e) {
+            throw new MatrixEthalonWriteFailException(localFile, e);
+        }
+        if (keepLocalCopy) {
+            generatedFile = localFile;
+        }
+    }
+
     /**
      * Reads content of the file.
      *
@@ -127,13 +164,17 @@ public class Template {
      */
     public String evaluateContent(Map<String, String> additionalParams) {
         getContent();
-        additionalParams.put("CURRENT_TEMPLATE_FILE_NAME", sanitizedFileName);
-        additionalParams.put("CURRENT_TEMPLATE_FILE_EXTENSION", fileExtension);
-        additionalParams.put("CURRENT_TEMPLATE_FILE_FULL_NAME", outputFileName);
+        putTemplateParameters(additionalParams);
         content = miaContext.evaluate(content, additionalParams);
         return content;
     }
 
+    private void putTemplateParameters(Map<String, String> parameters) {
+        parameters.put("CURRENT_TEMPLATE_FILE_NAME", sanitizedFileName);
+        parameters.put("CURRENT_TEMPLATE_FILE_EXTENSION", fileExtension);
+        parameters.put("CURRENT_TEMPLATE_FILE_FULL_NAME", outputFileName);
+    }
+
     /**
      * Default single replace content operation.
      * Uses replaceFirst function.
@@ -24,18 +24,25 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.input.ReversedLinesFileReader;
 import org.qubership.atp.mia.exceptions.fileservice.ReadFailFileNotFoundException;
 import org.qubership.atp.mia.exceptions.fileservice.ReadFailIoExceptionDuringOperation;
 import org.qubership.atp.mia.model.exception.ErrorCodes;
 import org.qubership.atp.mia.model.pot.Link;
+import org.qubership.atp.mia.model.pot.MarkerMatcher;
 import org.qubership.atp.mia.model.pot.Statuses;
 import org.qubership.atp.mia.service.MiaContext;
+import org.qubership.atp.mia.utils.LogPathExtractor;
 import org.springframework.lang.NonNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.annotation.Nonnull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -52,6 +59,21 @@ public class CommandOutput {
     //new content contains line and its state
     private LinkedList<MarkedContent> markedContent = new LinkedList<>();
     private boolean isSizeExceedLimit = false;
+    //paths to files found while output was captured, see Utils.getPathToFileOutOfLog
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient LogPathExtractor pathExtractor;
+    //markers checked while output was captured, see ProcessStatusRepository.parseLogStatus
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient MarkerMatcher markerMatcher;
+    //completed when file is written in background, see RequestLogWriter
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient CompletableFuture<Void> written;
 
     // For deserialization purpose only
     private CommandOutput() {
@@ -97,29 +119,48 @@ public class CommandOutput {
      * Gets file by internal path.
      */
     public LinkedList<String> contentFromFile() {
+        LinkedList<String> content = this.content;
+        if (content == null || content.isEmpty()) {
+            final LinkedList<String> fileContent = new LinkedList<>();
+            forEachLineOfFile(fileContent::add);
+            content = fileContent;
+        }
+        return content;
+    }
+
+    /**
+     * Passes every line of content to consumer without keeping whole file in memory.
+     * If content is already present then it is used instead of file.
+     *
+     * @param lineConsumer consumer of lines
+     */
+    public void forEachLine(Consumer<String> lineConsumer) {
+        if (content == null || content.isEmpty()) {
+            forEachLineOfFile(lineConsumer);
+        } else {
+            content.forEach(lineConsumer);
+        }
+    }
+
+    private void forEachLineOfFile(Consumer<String> lineConsumer) {
         String internalPathToFile = this.internalPathToFile;
         if (internalPathToFile.contains("..") || internalPathToFile.contains("//")
                 || internalPathToFile.startsWith("/") || internalPathToFile.startsWith("\\")) {
             throw new SecurityException("Invalid path: Path traversal attempt detected -> " + internalPathToFile);
         }
         File file = new File(internalPathToFile).getAbsoluteFile();
-        LinkedList<String> content = this.content;
-        if (content == null || content.isEmpty()) {
-            log.info("Read full content of file [{}]...", internalPathToFile);
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                content = new LinkedList<>();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    content.add(line);
-                }
-                log.info("Read full content of file [{}] DONE", internalPathToFile);
-            } catch (FileNotFoundException e) {
-                throw new ReadFailFileNotFoundException(internalPathToFile);
-            } catch (IOException e) {
-                throw new ReadFailIoExceptionDuringOperation(internalPathToFile, e);
+        log.info("Read full content of file [{}]...", internalPathToFile);
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                lineConsumer.accept(line);
             }
+            log.info("Read full content of file [{}] DONE", internalPathToFile);
+        } catch (FileNotFoundException e) {
+            throw new ReadFailFileNotFoundException(internalPathToFile);
+        } catch (IOException e) {
+            throw new ReadFailIoExceptionDuringOperation(internalPathToFile, e);
         }
-        return content;
     }
 
     /**
@@ -21,10 +21,9 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
 import org.qubership.atp.mia.exceptions.responseerrors.MarkerRegexException;
 
 import jakarta.annotation.Nullable;
@@ -50,6 +49,7 @@ public class Marker implements Serializable {
     @Nullable
     private List<String> warnMarkersForLog;
     private boolean failWhenNoPassedMarkersFound;
+    private boolean abortOnFailMarker;
 
     /**
      * Clones Marker.
@@ -71,40 +71,32 @@ public class Marker implements Serializable {
     }
 
     /**
-     * Check line for markers.
-     * If any error then FAIL,
-     * otherwise if any warning then WARNING
-     * otherwise if any passed then PASSED
-     * otherwise UNKNOWN.
+     * Creates copy of marker with evaluated markers.
      *
-     * @param line line to check
-     * @return {@link Statuses}
+     * @param evaluator function to evaluate every marker
+     * @return evaluated copy of Marker
      */
-    public Statuses checkLineForMarker(String line) {
-        Statuses status = Statuses.UNKNOWN;
-        if (failedMarkersForLog != null
-                && failedMarkersForLog.stream().anyMatch(marker -> checkLineWithMarker(marker, line, "failed"))) {
-            status = Statuses.FAIL;
+    public Marker evaluate(UnaryOperator<String> evaluator) {
+        MarkerBuilder builder = this.toBuilder();
+        if (passedMarkerForLog != null) {
+            builder.passedMarkerForLog(passedMarkerForLog.stream().map(evaluator).collect(Collectors.toList()));
         }
-        if (!status.equals(Statuses.FAIL) && warnMarkersForLog != null
-                && warnMarkersForLog.stream().anyMatch(marker -> checkLineWithMarker(marker, line, "warn"))) {
-            status = Statuses.WARNING;
+        if (failedMarkersForLog != null) {
+            builder.failedMarkersForLog(failedMarkersForLog.stream().map(evaluator).collect(Collectors.toList()));
         }
-        if (!status.equals(Statuses.FAIL) && !status.equals(Statuses.WARNING) && passedMarkerForLog != null
-                && passedMarkerForLog.stream().anyMatch(marker -> checkLineWithMarker(marker, line, "passed"))) {
-            status = Statuses.SUCCESS;
+        if (warnMarkersForLog != null) {
+            builder.warnMarkersForLog(warnMarkersForLog.stream().map(evaluator).collect(Collectors.toList()));
         }
-        return status;
+        return builder.build();
     }
 
-    private boolean checkLineWithMarker(String marker, String line, String markerType) {
-        if (!StringUtils.isBlank(marker)) {
-            try {
-                return Pattern.compile(marker).matcher(line).find();
-            } catch (PatternSyntaxException e) {
-                throw new MarkerRegexException(markerType, marker);
-            }
-        }
-        return  false;
+    /**
+     * Compiles marker to matcher which can be fed line by line.
+     *
+     * @return {@link MarkerMatcher}
+     * @throws MarkerRegexException in case of incorrect regular expression in marker
+     */
+    public MarkerMatcher compile() {
+        return new MarkerMatcher(this);
     }
 }
@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.model.pot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.atp.mia.exceptions.responseerrors.MarkerRegexException;
+import org.qubership.atp.mia.model.impl.output.MarkedContent;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Compiled form of {@link Marker}.
+ * Patterns are compiled once, so matcher can be fed line by line while log is being read or captured.
+ * Aggregated status and marked lines are kept up to date with every accepted line,
+ * so log which is fed to matcher doesn't have to be read again to get its status.
+ */
+public class MarkerMatcher implements Consumer<String> {
+
+    private final List<Pattern> failedPatterns;
+    private final List<Pattern> warnPatterns;
+    private final List<Pattern> passedPatterns;
+    private final boolean abortOnFailMarker;
+    private final List<MarkedContent> markedContent = Collections.synchronizedList(new ArrayList<>());
+    @Getter
+    private volatile boolean failFound;
+    @Getter
+    private volatile boolean warnFound;
+    @Getter
+    private volatile boolean passedFound;
+    @Getter
+    private volatile String firstFailedLine;
+
+    /**
+     * Compiles patterns of marker.
+     *
+     * @param marker marker
+     * @throws MarkerRegexException in case of incorrect regular expression in marker
+     */
+    public MarkerMatcher(Marker marker) {
+        this.failedPatterns = compile(marker.getFailedMarkersForLog(), "failed");
+        this.warnPatterns = compile(marker.getWarnMarkersForLog(), "warn");
+        this.passedPatterns = compile(marker.getPassedMarkerForLog(), "passed");
+        this.abortOnFailMarker = marker.isAbortOnFailMarker();
+    }
+
+    /**
+     * Check line for markers.
+     * If any error then FAIL,
+     * otherwise if any warning then WARNING
+     * otherwise if any passed then PASSED
+     * otherwise UNKNOWN.
+     *
+     * @param line line to check
+     * @return {@link Statuses}
+     */
+    public Statuses check(String line) {
+        if (anyFind(failedPatterns, line)) {
+            return Statuses.FAIL;
+        }
+        if (anyFind(warnPatterns, line)) {
+            return Statuses.WARNING;
+        }
+        if (anyFind(passedPatterns, line)) {
+            return Statuses.SUCCESS;
+        }
+        return Statuses.UNKNOWN;
+    }
+
+    /**
+     * Checks line and updates aggregated status, line with any marker is added to marked content.
+     *
+     * @param line line to check
+     */
+    @Override
+    public void accept(String line) {
+        final Statuses status = check(line);
+        if (status != Statuses.UNKNOWN) {
+            markedContent.add(new MarkedContent(line, status));
+        }
+        switch (status) {
+            case FAIL:
+                if (!failFound) {
+                    firstFailedLine = line;
+                }
+                failFound = true;
+                break;
+            case WARNING:
+                warnFound = true;
+                break;
+            case SUCCESS:
+                passedFound = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Gets aggregated status of all accepted lines.
+     *
+     * @return FAIL if any fail marker found, otherwise WARNING if any warn marker found,
+     *         otherwise SUCCESS if any passed marker found, otherwise UNKNOWN
+     */
+    public Statuses getStatus() {
+        if (failFound) {
+            return Statuses.FAIL;
+        }
+        if (warnFound) {
+            return Statuses.WARNING;
+        }
+        return passedFound ? Statuses.SUCCESS : Statuses.UNKNOWN;
+    }
+
+    /**
+     * Gets lines with markers among accepted lines, in order of acceptance.
+     *
+     * @return copy of marked content
+     */
+    public LinkedList<MarkedContent> getMarkedContent() {
+        synchronized (markedContent) {
+            return new LinkedList<>(markedContent);
+        }
+    }
+
+    /**
+     * Whether execution should be stopped because fail marker is found and marker requests it.
+     *
+     * @return true if fail marker is found and {@link Marker#isAbortOnFailMarker()} is on
+     */
+    public boolean isAbortRequested() {
+        return abortOnFailMarker && failFound;
+    }
+
+    private static boolean anyFind(List<Pattern> patterns, String line) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(line).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(@Nullable List<String> markers, String markerType) {
+        if (markers == null || markers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Pattern> patterns = new ArrayList<>(markers.size());
+        for (String marker : markers) {
+            if (!StringUtils.isBlank(marker)) {
+                try {
+                    patterns.add(Pattern.compile(marker));
+                } catch (PatternSyntaxException e) {
+                    throw new MarkerRegexException(markerType, marker);
+                }
+            }
+        }
+        return patterns;
+    }
+}
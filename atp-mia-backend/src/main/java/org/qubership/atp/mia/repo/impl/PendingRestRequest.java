@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.model.impl.executable.Command;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * REST request which is evaluated and prepared for sending.
+ * When request is sent asynchronously, response is available as future
+ * and is processed by {@link RestRepository#awaitRestResponse(PendingRestRequest)}.
+ */
+@Getter
+public class PendingRestRequest {
+
+    private final Command command;
+    private final Server server;
+    private final HttpUriRequestBase request;
+    private final HashMap<String, String> connectionInfo;
+    @Setter(AccessLevel.PACKAGE)
+    private CompletableFuture<ClassicHttpResponse> response;
+
+    PendingRestRequest(Command command, Server server, HttpUriRequestBase request,
+                       HashMap<String, String> connectionInfo) {
+        this.command = command;
+        this.server = server;
+        this.request = request;
+        this.connectionInfo = connectionInfo;
+    }
+}
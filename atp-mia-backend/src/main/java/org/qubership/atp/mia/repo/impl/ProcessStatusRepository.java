@@ -20,7 +20,6 @@ package org.qubership.atp.mia.repo.impl;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
-import java.util.stream.Collectors;
 
 import org.qubership.atp.mia.exceptions.MiaException;
 import org.qubership.atp.mia.exceptions.responseerrors.CantParseExpectedCodeException;
@@ -31,6 +30,7 @@ import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
 import org.qubership.atp.mia.model.impl.output.MarkedContent;
 import org.qubership.atp.mia.model.pot.Marker;
+import org.qubership.atp.mia.model.pot.MarkerMatcher;
 import org.qubership.atp.mia.model.pot.ProcessStatus;
 import org.qubership.atp.mia.model.pot.Statuses;
 import org.qubership.atp.mia.service.MiaContext;
@@ -59,23 +59,7 @@ public class ProcessStatusRepository {
      */
     public void parseLogMarkers(ProcessStatus processStatus, Command command) {
         if (command.getMarker() != null) {
-            processStatus.setMarker(command.getMarker());
-            Marker marker = processStatus.getMarker();
-            if (marker.getPassedMarkerForLog() != null) {
-                marker.setPassedMarkerForLog(marker.getPassedMarkerForLog().stream()
-                        .map(miaContext::evaluate)
-                        .collect(Collectors.toList()));
-            }
-            if (marker.getFailedMarkersForLog() != null) {
-                marker.setFailedMarkersForLog(marker.getFailedMarkersForLog().stream()
-                        .map(miaContext::evaluate)
-                        .collect(Collectors.toList()));
-            }
-            if (marker.getWarnMarkersForLog() != null) {
-                marker.setWarnMarkersForLog(marker.getWarnMarkersForLog().stream()
-                        .map(miaContext::evaluate)
-                        .collect(Collectors.toList()));
-            }
+            processStatus.setMarker(command.getMarker().evaluate(miaContext::evaluate));
         }
     }
 
@@ -100,17 +84,22 @@ public class ProcessStatusRepository {
             boolean isFirst = true;
             for (CommandOutput logCommandOutput : executionResponse.getCommandResponse().getCommandOutputs()) {
                 try {
-                    if (marker != null) {
+                    if (marker != null && logCommandOutput.getMarkerMatcher() != null) {
+                        // log is already checked by markers while it was captured, it isn't read again
+                        log.info("Add log Status on entry marker is: [{}], log is checked while captured", marker);
+                        logCommandOutput.setMarkedContent(logCommandOutput.getMarkerMatcher().getMarkedContent());
+                    } else if (marker != null) {
                         log.info("Add log Status on entry marker is: [{}]", marker);
+                        // patterns are compiled once per log, incorrect regexp is handled as any error of log
+                        final MarkerMatcher markerMatcher = marker.compile();
                         //Update contents of logs
-                        List<String> content = logCommandOutput.contentFromFile();
                         logCommandOutput.setMarkedContent(new LinkedList<>());
-                        for (String s : content) {
-                            Statuses statuses = marker.checkLineForMarker(s);
+                        logCommandOutput.forEachLine(line -> {
+                            Statuses statuses = markerMatcher.check(line);
                             if (!statuses.equals(Statuses.UNKNOWN)) {
-                                logCommandOutput.addContent(s, statuses);
+                                logCommandOutput.addContent(line, statuses);
                             }
-                        }
+                        });
                     }
                 } catch (MiaException e) {
                     handlerFileNotFoundErr(executionResponse, logCommandOutput, linesAmount, e);
@@ -180,6 +169,38 @@ public class ProcessStatusRepository {
         }
     }
 
+    /**
+     * Sets {@link Statuses#WARNING} if ssh command executed via 'exec' channel finished with non-zero exit status
+     * or its exit status isn't received. Status set by markers is kept if it is {@link Statuses#FAIL} already.
+     * Sets {@link Statuses#FAIL} if command was aborted on fail marker.
+     *
+     * @param response execution response
+     */
+    public void parseExitStatusAndUpdateStatus(ExecutionResponse response) {
+        if (response.getCommandResponse() == null || response.getCommandResponse().getConnectionInfo() == null) {
+            return;
+        }
+        final String exitStatus = response.getCommandResponse().getConnectionInfo().get(ShellRepository.EXIT_STATUS);
+        final boolean aborted = Boolean.parseBoolean(
+                response.getCommandResponse().getConnectionInfo().get(ShellRepository.ABORTED));
+        if (aborted || exitStatus != null && !"0".equals(exitStatus)) {
+            if (response.getProcessStatus() == null) {
+                response.setProcessStatus(new ProcessStatus());
+            }
+            if (aborted) {
+                log.info("Set status {} as command was aborted on fail marker", Statuses.FAIL);
+                response.getProcessStatus().setStatus(Statuses.FAIL);
+            } else if (!Statuses.FAIL.equals(response.getProcessStatus().getStatus())) {
+                if (String.valueOf(SshExecResult.NO_EXIT_STATUS).equals(exitStatus)) {
+                    log.info("Set status {} as exit status of command isn't received", Statuses.WARNING);
+                } else {
+                    log.info("Set status {} as exit status of command is {}", Statuses.WARNING, exitStatus);
+                }
+                response.getProcessStatus().setStatus(Statuses.WARNING);
+            }
+        }
+    }
+
     /**
      * Parses rest response and sets {@link Statuses#FAIL} if there is unexpected code in response.
      * In case if flag 'Check Status Code' turned off this funciton skipped.
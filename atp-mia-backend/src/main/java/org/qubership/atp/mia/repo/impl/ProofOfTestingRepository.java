@@ -174,7 +174,6 @@ public class ProofOfTestingRepository {
         if (stepList == null || stepList.isEmpty()) {
             throw new PotStepListEmptyException();
         }
-
         /*Path baseDir = miaContext.getLogPath().toAbsolutePath().normalize();
         validatePathTraversal(targetFile.toPath(), baseDir);*/
 
@@ -589,9 +588,10 @@ public class ProofOfTestingRepository {
             case SSH:
                 if (system.value != null) {
                     try {
+                        // whole output is header value, so log must not be truncated
                         CommandResponse commandResponse = shellRepository.executeAndGetLog(
                                 new Command("POT_header", "SSH", header.getSystem(),
-                                        listToSet(header.getValue())));
+                                        listToSet(header.getValue())), true);
                         if (!commandResponse.getCommandOutputs().isEmpty()) {
                             value = String.join("\n", commandResponse.getCommandOutputs().getFirst().contentFromFile());
                         } else {
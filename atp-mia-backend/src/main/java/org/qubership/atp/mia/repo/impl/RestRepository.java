@@ -17,11 +17,16 @@
 
 package org.qubership.atp.mia.repo.impl;
 
-import static org.qubership.atp.mia.utils.FileUtils.logIntoFile;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -30,21 +35,23 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
-import javax.script.ScriptEngine;
+import javax.script.Bindings;
 import javax.script.ScriptException;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
-import org.openjdk.nashorn.api.scripting.ClassFilter;
-import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
-import org.qubership.atp.mia.exceptions.rest.RestCopyResultToStringException;
 import org.qubership.atp.mia.exceptions.rest.RestCreateConnectionFailException;
+import org.qubership.atp.mia.exceptions.rest.RestExceptionDuringExecution;
 import org.qubership.atp.mia.exceptions.rest.RestNotFoundException;
 import org.qubership.atp.mia.exceptions.rest.RestParseErrorException;
 import org.qubership.atp.mia.model.Constants;
@@ -61,14 +68,21 @@ import org.qubership.atp.mia.model.pot.Link;
 import org.qubership.atp.mia.model.pot.db.SqlResponse;
 import org.qubership.atp.mia.model.pot.db.table.DbTable;
 import org.qubership.atp.mia.service.MiaContext;
+import org.qubership.atp.mia.service.execution.PostScriptService;
 import org.qubership.atp.mia.service.execution.RestClientService;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
+import org.qubership.atp.mia.service.execution.RestPollingScheduler;
 import org.qubership.atp.mia.service.monitoring.MetricsAggregateService;
+import org.qubership.atp.mia.utils.BoundedByteArrayOutputStream;
+import org.qubership.atp.mia.utils.JsonTableExtractor;
 import org.qubership.atp.mia.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import lombok.RequiredArgsConstructor;
@@ -81,17 +95,68 @@ public class RestRepository {
 
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
     public static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
-    private static final TypeReference<DbTable> TYPE_REF_DB_TABLE = new TypeReference<>() {
+    private static final TypeReference<List<String>> TYPE_REF_COLUMNS = new TypeReference<>() {
     };
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private final MiaContext miaContext;
     private final RestClientService restClient;
     private final MetricsAggregateService metricsService;
+    private final PostScriptService postScriptService;
+    private final RestPollingScheduler pollingScheduler;
+    private final RequestLogWriter requestLogWriter;
+    /**
+     * Max size of text response kept in memory for text check and post script, non-positive means no limit.
+     */
+    @Value("${rest.response.body.max.size:10485760}")
+    protected long maxBodySize;
+    /**
+     * Max amount of rows of table parsed from response, non-positive means no limit.
+     */
+    @Value("${db.execution.records.limit:50}")
+    protected int dbExecutionRecordsLimit;
 
     /**
      * Sends rest request.
      */
     public CommandResponse sendRestRequest(Command command) {
+        final PendingRestRequest pending = prepareRestRequest(command);
+        final HttpClient client = restClient.prepareRestClient(pending.getServer(),
+                command.getRest().isDisableRedirect(), pending.getConnectionInfo());
+        pending.getConnectionInfo().put("timestampRequest", Utils.getTimestamp());
+        return processRestResponse(pending, restClient.executeRestRequest(client, pending.getRequest()));
+    }
+
+    /**
+     * Sends rest request asynchronously.
+     * Request is evaluated in current thread, response should be processed
+     * by {@link #awaitRestResponse(PendingRestRequest)} in the thread of execution as well.
+     *
+     * @param command command
+     * @return sent request with future of response
+     */
+    public PendingRestRequest sendRestRequestAsync(Command command) {
+        final PendingRestRequest pending = prepareRestRequest(command);
+        final CloseableHttpAsyncClient client = restClient.prepareAsyncRestClient(pending.getServer(),
+                command.getRest().isDisableRedirect(), pending.getConnectionInfo());
+        pending.getConnectionInfo().put("timestampRequest", Utils.getTimestamp());
+        pending.setResponse(restClient.executeRestRequestAsync(client, pending.getRequest()));
+        return pending;
+    }
+
+    /**
+     * Waits for response of request sent by {@link #sendRestRequestAsync(Command)} and processes it.
+     * Polling by {@link RestLoopParameters}, if any, is awaited in the thread of execution.
+     *
+     * @param pending sent request
+     * @return command response
+     */
+    public CommandResponse awaitRestResponse(PendingRestRequest pending) {
+        final ClassicHttpResponse httpResponse = restClient.awaitRestResponse(pending.getResponse(),
+                pending.getRequest());
+        return processRestResponse(pending, httpResponse);
+    }
+
+    private PendingRestRequest prepareRestRequest(Command command) {
         if (command.getRest() == null) {
             throw new RestNotFoundException();
         }
@@ -114,11 +179,17 @@ public class RestRepository {
         if (restLoopParameters != null && !Strings.isNullOrEmpty(restLoopParameters.getTextToCheck())) {
             restLoopParameters.setTextToCheck(miaContext.evaluate(restLoopParameters.getTextToCheck()));
         }
-        log.info("Preparing REST client for project: {}", miaContext.getProjectId());
-        HttpClient client = restClient.prepareRestClient(server, rest.isDisableRedirect(), connectionInfo);
+        log.info("Preparing REST request for project: {}", miaContext.getProjectId());
         HttpUriRequestBase request = restClient.prepareRestRequest(rest, server, connectionInfo);
-        connectionInfo.put("timestampRequest", Utils.getTimestamp());
-        ClassicHttpResponse httpResponse = restClient.executeRestRequest(client, request);
+        return new PendingRestRequest(command, server, request, connectionInfo);
+    }
+
+    private CommandResponse processRestResponse(PendingRestRequest pending, ClassicHttpResponse httpResponse) {
+        final Command command = pending.getCommand();
+        final Rest rest = command.getRest();
+        final RestLoopParameters restLoopParameters = rest.getRestLoopParameters();
+        final HttpUriRequestBase request = pending.getRequest();
+        final HashMap<String, String> connectionInfo = pending.getConnectionInfo();
         boolean textChecked = true;
         Map.Entry<File, String> responseBody = getResponseBody(command, httpResponse);
         if (responseBody.getValue() != null) {
@@ -128,21 +199,23 @@ public class RestRepository {
         if (!textChecked && restLoopParameters != null
                 && restLoopParameters.getMaxNumberRepeats() >= 0
                 && restLoopParameters.getTimeoutRepeats() > 0) {
-            for (int repeatId = 0; repeatId < restLoopParameters.getMaxNumberRepeats(); repeatId++) {
-                try {
-                    Thread.sleep(restLoopParameters.getTimeoutRepeats() * 1000L);
-                } catch (InterruptedException e) {
-                    log.error("restLoopParameters timeout error.", e);
-                }
-                httpResponse = restClient.executeRestRequest(client, request);
+            if (restLoopParameters.getMaxNumberRepeats() > 0) {
+                // attempts are scheduled asynchronously, execution thread only waits for result of polling;
+                // body of every attempt is kept in temporary file, only its beginning is read for text check
+                final CloseableHttpAsyncClient asyncClient = restClient.prepareAsyncRestClient(pending.getServer(),
+                        rest.isDisableRedirect(), connectionInfo);
+                final RestPollingScheduler.Polling<ClassicHttpResponse> polling = awaitPolling(
+                        pollingScheduler.poll(() -> restClient.executeRestRequestAsync(asyncClient, request),
+                                response -> checkForText(restLoopParameters, getTextBody(response),
+                                        response.getHeaders()),
+                                response -> "code " + response.getCode(),
+                                restLoopParameters.getMaxNumberRepeats(),
+                                restLoopParameters.getTimeoutRepeats() * 1000L));
+                retryCount = polling.getAttempts();
+                textChecked = polling.isConditionMet();
+                httpResponse = polling.getResult();
                 responseBody = getResponseBody(command, httpResponse);
-                if (responseBody.getValue() != null) {
-                    textChecked = checkForText(restLoopParameters, responseBody.getValue(), httpResponse.getHeaders());
-                }
-                retryCount++;
-                if (textChecked) {
-                    break;
-                }
+                connectionInfo.put("pollingHistory", String.join("\n", polling.getHistory()));
             }
             String pollingInfo = "ReTried Count : " + retryCount + " / "
                     + restLoopParameters.getMaxNumberRepeats()
@@ -179,23 +252,8 @@ public class RestRepository {
         }
         if (rest.isParseResponseAsTable()) {
             try {
-                String commandOutputContent = commandOutput.contentFromFile().toString();
-                JsonNode node = MAPPER.readTree(commandOutputContent.substring(1, commandOutputContent.length() - 1));
-                if (node.has("table") && node.get("table").has("columns")
-                        && node.get("table").has("data")) {
-                    SqlResponse sqlResponse = new SqlResponse();
-                    DbTable table = MAPPER.convertValue(node.get("table"), TYPE_REF_DB_TABLE);
-                    if (table.getData() == null) {
-                        table.setData(new ArrayList<>());
-                    }
-                    if (table.getColumns() == null) {
-                        table.setColumns(new ArrayList<>());
-                    }
-                    sqlResponse.setData(table);
-                    if (rest.isHasFile() && node.has("file")) {
-                        String file = node.get("file").asText();
-                        sqlResponse.setLink(new Link(file, Utils.getFileNameFromPath(file)));
-                    }
+                SqlResponse sqlResponse = parseResponseAsTable(responseBody.getKey(), rest.isHasFile());
+                if (sqlResponse != null) {
                     commandResponse.setSqlResponse(sqlResponse);
                 }
             } catch (IOException e) {
@@ -211,8 +269,8 @@ public class RestRepository {
             connectionInfo.put("bodyResponse", responseBody.getValue());
             File fileFullInfo = miaContext.getLogPath()
                     .resolve(miaContext.createLogFileName("REST_FULL_INFO", "json")).toFile();
-            logIntoFile(Utils.GSON.toJson(connectionInfo), fileFullInfo);
             final CommandOutput commandFullInfo = new CommandOutput(fileFullInfo.getPath(), null, false, miaContext);
+            commandFullInfo.setWritten(requestLogWriter.write(connectionInfo, fileFullInfo));
             commandResponse.addCommandOutput(commandFullInfo);
         } finally {
             connectionInfo.remove("postScript");
@@ -228,42 +286,21 @@ public class RestRepository {
     public String executeScript(Rest rest, ClassicHttpResponse httpResponse, String responseBody, String processName) {
         log.trace("Start executing post script of {} process", processName);
 
-        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
-
-        // Combined security defense
-        String[] args = {"--no-java", "--no-syntax-extensions"};
-
-        // ClassFilter blocks any access to Java classes
-        ClassFilter strictFilter = (className) -> {
-            log.debug("Blocked access to Java class: {}", className);
-            return false;
-        };
-
-        ScriptEngine engine = factory.getScriptEngine(args, null, strictFilter);
-
-        /*
-            Old engine init; commented
-         */
-        //ScriptEngineManager factory = new ScriptEngineManager();
-        //ScriptEngine engine = factory.getEngineByName("Nashorn");
-
-        if (engine == null) {
-            return "%s can't define OpenJDK Nashorn script engine.".formatted(Constants.ERROR);
-        }
-        engine.put("request", rest);
-        engine.put("response", httpResponse);
-        engine.put("globalVariables", miaContext.getFlowData().getParameters());
-        engine.put("collectionVariables", new HashMap<String, Object>());
-        if (responseBody != null) {
-            Object parsedResponse = parseResponse(new ObjectMapper(), responseBody.trim());
-            engine.put("responseBody", parsedResponse);
-        }
         String script = rest.getScript();
         if (StringUtils.isNotEmpty(script)) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("request", rest);
+            variables.put("response", httpResponse);
+            variables.put("globalVariables", miaContext.getFlowData().getParameters());
+            variables.put("collectionVariables", new HashMap<String, Object>());
+            if (responseBody != null) {
+                Object parsedResponse = parseResponse(MAPPER, responseBody.trim());
+                variables.put("responseBody", parsedResponse);
+            }
             try {
-                engine.eval(script);
+                Bindings bindings = postScriptService.execute(script, variables);
                 @SuppressWarnings("unchecked")
-                HashMap<String, String> result = (HashMap<String, String>) engine.eval("collectionVariables;");
+                HashMap<String, String> result = (HashMap<String, String>) bindings.get("collectionVariables");
                 result.keySet().forEach(k -> {
                     try {
                         Object value = result.get(k);
@@ -311,6 +348,46 @@ public class RestRepository {
         }
     }
 
+    private RestPollingScheduler.Polling<ClassicHttpResponse> awaitPolling(
+            CompletableFuture<RestPollingScheduler.Polling<ClassicHttpResponse>> polling) {
+        try {
+            return polling.get();
+        } catch (InterruptedException e) {
+            polling.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RestExceptionDuringExecution(new InterruptedIOException(e.getMessage()));
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RestExceptionDuringExecution(cause instanceof IOException
+                    ? (IOException) cause
+                    : new IOException(cause));
+        }
+    }
+
+    /**
+     * Body of response as string if it is text, the same way as {@link #getResponseBody(Command,
+     * ClassicHttpResponse)} returns it: only first {@link #maxBodySize} bytes are read.
+     * Entity of response should be repeatable.
+     */
+    private String getTextBody(ClassicHttpResponse httpResponse) {
+        final HttpEntity entity = httpResponse.getEntity();
+        if (entity == null
+                || !ContentType.getType(Utils.getHeaderValue(httpResponse, HEADER_CONTENT_TYPE)).isTextFormat()) {
+            return null;
+        }
+        final ByteArrayOutputStream bodyStream = new ByteArrayOutputStream();
+        try (InputStream content = entity.getContent()) {
+            // negative length means whole content
+            IOUtils.copyLarge(content, bodyStream, 0, maxBodySize > 0 ? maxBodySize : -1);
+        } catch (IOException e) {
+            throw new RestParseErrorException(e);
+        }
+        return bodyStream.toString(Charset.defaultCharset());
+    }
+
     /**
      * Check rest headers or body for text.
      *
@@ -333,6 +410,86 @@ public class RestRepository {
         return textChecked;
     }
 
+    /**
+     * Reads table from JSON response with streaming parser, so whole response is not loaded into memory.
+     * Supported formats are {@code {"table": {"columns": [...], "data": [[...], ...]}, "file": "link"}}
+     * and array of objects {@code [{"column": "value", ...}, ...]}.
+     * Table is limited to {@code db.execution.records.limit} rows; if saving of SQL tables to file is enabled
+     * in project configuration, all rows are saved to CSV file.
+     *
+     * @param file    file with response
+     * @param hasFile whether link to file should be read from response
+     * @return response with table or null if response does not contain table
+     * @throws IOException if response is not valid JSON
+     */
+    SqlResponse parseResponseAsTable(File file, boolean hasFile) throws IOException {
+        DbTable table = null;
+        String link = null;
+        final File csvFile = miaContext.getConfig().getCommonConfiguration().isSaveSqlTablesToFile()
+                ? miaContext.getLogPath().resolve(miaContext.createTableFileName(null)).toFile()
+                : null;
+        try (JsonParser parser = MAPPER.getFactory().createParser(file);
+             JsonTableExtractor extractor = new JsonTableExtractor(dbExecutionRecordsLimit, csvFile)) {
+            final JsonToken root = parser.nextToken();
+            if (root == JsonToken.START_ARRAY) {
+                extractor.readRows(parser);
+                table = extractor.toTable();
+            } else if (root == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    final JsonToken value = parser.nextToken();
+                    if ("table".equals(field) && value == JsonToken.START_OBJECT) {
+                        table = readTable(parser, extractor);
+                    } else if ("file".equals(field) && hasFile && value.isScalarValue()) {
+                        link = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            if (table == null) {
+                return null;
+            }
+            SqlResponse sqlResponse = new SqlResponse();
+            sqlResponse.setData(table);
+            sqlResponse.setRecords(table.getData().size());
+            if (dbExecutionRecordsLimit > 0 && table.getActualDataSizeBeforeLimit() > dbExecutionRecordsLimit) {
+                sqlResponse.setLimitRecordsMessage("The number of returned rows exceeds the maximum allowed number"
+                        + " of " + dbExecutionRecordsLimit + " rows");
+            }
+            if (extractor.isCsvWritten()) {
+                sqlResponse.setInternalPathToFile(csvFile.getPath(), miaContext);
+            }
+            if (link != null) {
+                sqlResponse.setLink(new Link(link, Utils.getFileNameFromPath(link)));
+            }
+            return sqlResponse;
+        }
+    }
+
+    private DbTable readTable(JsonParser parser, JsonTableExtractor extractor) throws IOException {
+        boolean hasColumns = false;
+        boolean hasData = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("columns".equals(field)) {
+                hasColumns = true;
+                extractor.setColumns(MAPPER.readValue(parser, TYPE_REF_COLUMNS));
+            } else if ("data".equals(field)) {
+                hasData = true;
+                if (value == JsonToken.START_ARRAY) {
+                    extractor.readRows(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return hasColumns && hasData ? extractor.toTable() : null;
+    }
+
     /**
      * Save HttpResponse in File and if it's text the string representation also returned.
      *
@@ -356,24 +513,32 @@ public class RestRepository {
             filename = Path.of(miaContext.createFileName(contentType));
         }
         File file = miaContext.getLogPath().resolve(filename.getFileName()).toFile();
-        try (FileOutputStream outStream = new FileOutputStream(file)) {
+        try (OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(file))) {
             HttpEntity entity = httpResponse.getEntity();
             if (entity != null) {
-                entity.writeTo(outStream);
+                if (contentType.isTextFormat()) {
+                    // single pass: response is written to file and beginning of it is kept in memory
+                    final BoundedByteArrayOutputStream bodyStream = new BoundedByteArrayOutputStream(maxBodySize);
+                    entity.writeTo(new TeeOutputStream(fileStream, bodyStream));
+                    stringBody = bodyStream.toString(Charset.defaultCharset());
+                    if (bodyStream.isTruncated()) {
+                        log.warn("REST response ({} bytes) exceeds {} bytes, only beginning of it is used for "
+                                + "text check and post script", bodyStream.getTotalSize(), maxBodySize);
+                    }
+                } else {
+                    entity.writeTo(fileStream);
+                }
+                fileStream.flush();
                 long restResponseSizeInKb = file.length() / 1024;
                 log.info("[SIZE] REST Response length: {} kb", restResponseSizeInKb);
                 metricsService.restResponseSize(restResponseSizeInKb);
                 log.debug("File with response created, path: {}", file.getPath());
-                try {
-                    if (contentType.isTextFormat()) {
-                        stringBody = FileUtils.readFileToString(file);
-                    }
-                } catch (IOException e) {
-                    throw new RestCopyResultToStringException(!file.exists(), e);
-                }
             }
         } catch (Exception e) {
             throw new RestParseErrorException(e);
+        } finally {
+            // returns connection to shared pool or deletes temporary file of asynchronous response
+            Utils.closeQuietly(httpResponse.getEntity());
         }
         return new AbstractMap.SimpleEntry<>(file, stringBody);
     }
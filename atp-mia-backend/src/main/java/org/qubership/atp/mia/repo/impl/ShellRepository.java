@@ -20,6 +20,8 @@ package org.qubership.atp.mia.repo.impl;
 import static org.qubership.atp.mia.model.Constants.ERROR_SSH_DOWNLOAD_FAILED;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -27,22 +29,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.qubership.atp.mia.model.Constants;
 import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.model.file.FileFingerprint;
 import org.qubership.atp.mia.model.impl.CommandResponse;
 import org.qubership.atp.mia.model.impl.FlowData;
 import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.model.pot.MarkerMatcher;
 import org.qubership.atp.mia.model.pot.Statuses;
 import org.qubership.atp.mia.repo.impl.pool.ssh.ConnectionPool;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.monitoring.MetricsAggregateService;
 import org.qubership.atp.mia.utils.FileUtils;
+import org.qubership.atp.mia.utils.LogPathExtractor;
 import org.springframework.stereotype.Repository;
 
+import jakarta.annotation.Nullable;
 import jakarta.xml.ws.Holder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -52,7 +59,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ShellRepository {
 
+    public static final String EXIT_STATUS = "exitStatus";
+    public static final String ABORTED = "aborted";
     private static final String INTERACTIVE_FORMAT = "%s > %s 2>&1";
+    private static final String STREAMING_FORMAT = "%s 2>&1";
     public final String genevaParamKey = "exportGenevaDate";
 
     private final MiaContext miaContext;
@@ -72,6 +82,21 @@ public class ShellRepository {
         getSshConnection(getServer(command), man -> man.transferFileOnServer(pathToFile, pathToUpLoad));
     }
 
+    /**
+     * Transfer several files on server using batched scripts.
+     *
+     * @param command      command
+     * @param pathsToFiles paths to files on server
+     * @param pathToUpLoad destination on server
+     * @return exit statuses of transfer in order of paths, {@code -1} if result of file is not received
+     */
+    public int[] transferFilesOnServer(Command command, List<String> pathsToFiles, String pathToUpLoad) {
+        final Holder<int[]> statuses = new Holder<>();
+        getSshConnection(getServer(command),
+                man -> statuses.value = man.transferFilesOnServer(pathsToFiles, pathToUpLoad));
+        return statuses.value;
+    }
+
     /**
      * Upload file on server.
      */
@@ -80,16 +105,79 @@ public class ShellRepository {
         getSshConnection(server, man -> man.uploadFileOnServer(file, pathToUpLoad, workDir));
     }
 
+    /**
+     * Upload several files on server using one connection.
+     */
+    public void uploadFilesOnServer(Server server, String pathToUpLoad, List<File> files) {
+        String workDir = miaContext.getFlowData().getCustom(Constants.CustomParameters.WORKING_DIRECTORY, miaContext);
+        getSshConnection(server, man -> man.uploadFilesOnServer(files, pathToUpLoad, workDir));
+    }
+
+    /**
+     * Upload several files on server using one connection skipping files which are not changed on server
+     * (if it's turned on for server).
+     *
+     * @param server       server
+     * @param pathToUpLoad destination directory
+     * @param files        files to upload
+     * @param fingerprints provider of fingerprints of local files
+     * @return {@link SshUploadResult}
+     */
+    public SshUploadResult uploadFilesOnServer(Server server, String pathToUpLoad, List<File> files,
+                                               Function<File, FileFingerprint> fingerprints) {
+        String workDir = miaContext.getFlowData().getCustom(Constants.CustomParameters.WORKING_DIRECTORY, miaContext);
+        final Holder<SshUploadResult> result = new Holder<>();
+        getSshConnection(server, man -> result.value = man.uploadFilesOnServer(files, pathToUpLoad, workDir,
+                fingerprints));
+        return result.value;
+    }
+
+    /**
+     * Upload files which content is written directly into SFTP stream.
+     *
+     * @param server       server
+     * @param pathToUpLoad destination directory
+     * @param writers      writers of content by names of files
+     * @return true if files are uploaded, false if streaming is not possible and files should be uploaded as usual
+     */
+    public boolean uploadStreamsOnServer(Server server, String pathToUpLoad,
+                                         Map<String, Consumer<OutputStream>> writers) {
+        final Holder<Boolean> uploaded = new Holder<>(false);
+        getSshConnection(server, man -> uploaded.value = man.uploadStreamsOnServer(writers, pathToUpLoad));
+        return uploaded.value;
+    }
+
     /**
      * Get file from server.
      */
     public CommandOutput getFileOnServer(Command command, String pathToFile, boolean isDisplayed) {
+        return getFileOnServer(command, pathToFile, isDisplayed, true);
+    }
+
+    /**
+     * Get file from server.
+     * If full file is not required and tail of log is configured for server then only head and tail are downloaded
+     * into file labeled as truncated, full log stays on server.
+     *
+     * @param command          command
+     * @param pathToFile       path to file on server
+     * @param isDisplayed      need to display on UI
+     * @param fullFileRequired whether full file is needed
+     * @return {@link CommandOutput}
+     */
+    public CommandOutput getFileOnServer(Command command, String pathToFile, boolean isDisplayed,
+                                         boolean fullFileRequired) {
         final Holder<File> file = new Holder<>();
         String errorMessage = "";
         Server server = getServer(command);
+        final long tailBytes = fullFileRequired ? 0 : server.getLogTailBytes();
+        final long headBytes = tailBytes > 0 ? server.getLogHeadBytes() : 0;
+        final String workDir =
+                miaContext.getFlowData().getCustom(Constants.CustomParameters.WORKING_DIRECTORY, miaContext);
         try {
-            getSshConnection(server, ssh -> file.value = ssh.getFileFromServer(pathToFile,
-                    miaContext.getFlowData().getCustom(Constants.CustomParameters.WORKING_DIRECTORY, miaContext)));
+            getSshConnection(server, ssh -> file.value = tailBytes > 0
+                    ? ssh.getFileFromServer(pathToFile, workDir, headBytes, tailBytes)
+                    : ssh.getFileFromServer(pathToFile, workDir));
         } catch (Exception e) {
             log.error("Can't get file on server. ProcessName: {},  Server: {}, Command: {}, filePath: {}, Message: {}",
                     miaContext.getFlowData().getCustom(Constants.CustomParameters.PROCESS_NAME, miaContext),
@@ -108,7 +196,25 @@ public class ShellRepository {
         return output;
     }
 
-    private String updateCommand(String logFileName, String commandValue, String system) {
+    /**
+     * Whether full log of command is needed: it's parsed for markers, variables or paths to files.
+     */
+    private static boolean isFullLogRequired(Command command) {
+        return command.getMarker() != null
+                || !StringUtils.isEmpty(command.getRegexpForFileRetrieve())
+                || (command.getVariablesToExtractFromLog() != null && !command.getVariablesToExtractFromLog().isEmpty())
+                || (command.getFileMarkers() != null && !command.getFileMarkers().isEmpty());
+    }
+
+    /**
+     * Adds shell prefixes to command and redirects its output to log file.
+     *
+     * @param logFileName log file on server, {@code null} if output is streamed, then stderr is merged into stdout
+     * @param commandValue command
+     * @param system system name
+     * @return command to execute
+     */
+    private String updateCommand(@Nullable String logFileName, String commandValue, String system) {
         final StringJoiner command =
                 new StringJoiner(miaContext.getConfig().getCommonConfiguration().getCommandShellSeparator());
         final Map<String, String> params = miaContext.getFlowData().getParameters();
@@ -127,7 +233,10 @@ public class ShellRepository {
                 }
             }
         });
-        command.add(INTERACTIVE_FORMAT.formatted(miaContext.evaluate(commandValue, params), logFileName));
+        final String evaluatedCommand = miaContext.evaluate(commandValue, params);
+        command.add(logFileName == null
+                ? STREAMING_FORMAT.formatted(evaluatedCommand)
+                : INTERACTIVE_FORMAT.formatted(evaluatedCommand, logFileName));
         return command.toString();
     }
 
@@ -179,8 +288,24 @@ public class ShellRepository {
 
     /**
      * Execute ssh command.
+     * When output streaming is turned on for server, output of command is written directly to local log,
+     * otherwise it is redirected to log file on server which is downloaded after execution.
+     * Exit status of command is known only when it is executed via 'exec' channel, it is put to connection info.
+     * Full log is downloaded only when it is parsed for markers, variables or paths to files.
      */
     public CommandResponse executeAndGetLog(Command command) {
+        return executeAndGetLog(command, isFullLogRequired(command));
+    }
+
+    /**
+     * Execute ssh command.
+     *
+     * @param command         command
+     * @param fullLogRequired whether full log is needed by caller, otherwise only head and tail of log
+     *                        are downloaded when tail of log is configured for server
+     * @return {@link CommandResponse}
+     */
+    public CommandResponse executeAndGetLog(Command command, boolean fullLogRequired) {
         final Server server = getServer(command);
         FlowData flowData = miaContext.getFlowData();
         flowData.addParameters(server.getProperties());
@@ -189,20 +314,94 @@ public class ShellRepository {
                 FileUtils.tempFileName(flowData.getCustom(Constants.CustomParameters.WORKING_DIRECTORY, miaContext),
                         fileName));
         CommandResponse commandResponse = new CommandResponse();
-        final String updatedCommand = updateCommand(logFileName, command.getToExecute(), command.getSystem());
         Holder<String> output = new Holder<>(null);
-        SshConnectionResponse sshResponse = getSshConnection(server, man ->
-                output.value = man.runCommand(updatedCommand));
-        commandResponse.setCommand(sshResponse.getExecutedCommand());
+        Holder<CommandOutput> streamedLog = new Holder<>(null);
+        Holder<String> executedCommand = new Holder<>("");
+        Holder<SshExecResult> execResult = new Holder<>(null);
+        SshConnectionResponse sshResponse = getSshConnection(server, man -> {
+            if (man.isOutputStreamingUsed()) {
+                final String updatedCommand = updateCommand(null, command.getToExecute(), command.getSystem());
+                executedCommand.value = SshConnectionManager.prepareCommand(updatedCommand);
+                streamedLog.value = executeWithOutputStreaming(man, command, updatedCommand, fileName, execResult);
+            } else {
+                if (command.getMarker() != null && command.getMarker().isAbortOnFailMarker()) {
+                    // output is checked by markers only after execution, when log is downloaded
+                    log.warn("Abort on fail marker is ignored for command [{}]: output streaming via 'exec' channel "
+                            + "is not used for server", command.getName());
+                    commandResponse.addDescription("Abort on fail marker is ignored: output streaming via 'exec' "
+                            + "channel is not used for server");
+                }
+                final String updatedCommand = updateCommand(logFileName, command.getToExecute(), command.getSystem());
+                executedCommand.value = SshConnectionManager.prepareCommand(updatedCommand);
+                if (man.isExecChannelUsed()) {
+                    execResult.value = man.executeCommand(updatedCommand);
+                    output.value = execResult.value.getOutput();
+                } else {
+                    output.value = man.runCommand(updatedCommand);
+                }
+            }
+        });
+        commandResponse.setCommand(executedCommand.value);
         commandResponse.setConnectionInfo(sshResponse.connectionInfo());
+        if (execResult.value != null) {
+            final int exitStatus = execResult.value.getExitStatus();
+            commandResponse.getConnectionInfo().put(EXIT_STATUS, String.valueOf(exitStatus));
+            if (execResult.value.isAborted()) {
+                commandResponse.getConnectionInfo().put(ABORTED, String.valueOf(true));
+                log.warn("Command [{}] was aborted on fail marker", command.getName());
+                commandResponse.addDescription("Command was aborted on fail marker");
+            } else if (exitStatus == SshExecResult.NO_EXIT_STATUS) {
+                log.warn("Exit status of command [{}] isn't received", command.getName());
+                commandResponse.addDescription("Exit status of command isn't received: channel was closed without it");
+            } else if (exitStatus != 0) {
+                log.warn("Command [{}] finished with exit status {}", command.getName(), exitStatus);
+                commandResponse.addDescription("Command finished with exit status " + exitStatus);
+            }
+        }
         if (commandResponse.getErrors() == null || commandResponse.getErrors().isEmpty()) {
-            CommandOutput logFile = getFileOnServer(command, logFileName, true);
-            addResponseTextToError(logFile, command.getToExecute(), output.value);
-            commandResponse.concatCommandOutput(logFile);
+            if (streamedLog.value != null) {
+                commandResponse.concatCommandOutput(streamedLog.value);
+            } else {
+                CommandOutput logFile = getFileOnServer(command, logFileName, true, fullLogRequired);
+                addResponseTextToError(logFile, command.getToExecute(), output.value);
+                commandResponse.concatCommandOutput(logFile);
+            }
         }
         return commandResponse;
     }
 
+    /**
+     * Executes command and writes its output directly to local log file.
+     * Output is checked by marker of command while it is captured,
+     * if marker requests abort on fail marker then command is stopped on first fail marker.
+     */
+    private CommandOutput executeWithOutputStreaming(SshConnectionManager man, Command command,
+                                                     String updatedCommand, String fileName,
+                                                     Holder<SshExecResult> execResult) {
+        final Path localLog = miaContext.getLogPath().resolve(fileName);
+        // paths are extracted from captured lines only if result is the same as for whole log
+        final LogPathExtractor pathExtractor = StringUtils.isEmpty(command.getRegexpForFileRetrieve())
+                || !LogPathExtractor.isLineByLine(command.getRegexpForFileRetrieve())
+                ? null : new LogPathExtractor(command.getRegexpForFileRetrieve());
+        // markers are checked while output is captured, so log isn't read again to get status
+        MarkerMatcher markerMatcher = null;
+        try (SshOutputCapture capture = new SshOutputCapture(localLog, SshOutputCapture.DEFAULT_TAIL_LINES)) {
+            if (command.getMarker() != null) {
+                markerMatcher = command.getMarker().evaluate(miaContext::evaluate).compile();
+                capture.addListener(markerMatcher).abortWhen(markerMatcher::isAbortRequested);
+            }
+            if (pathExtractor != null) {
+                capture.addListener(pathExtractor);
+            }
+            execResult.value = man.executeCommand(updatedCommand, capture);
+            log.info("[SIZE] Streamed {} lines of output to {}", capture.getLinesCount(), localLog);
+        }
+        final CommandOutput output = new CommandOutput(localLog.toString(), null, true, miaContext);
+        output.setPathExtractor(pathExtractor);
+        output.setMarkerMatcher(markerMatcher);
+        return output;
+    }
+
     /**
      * Generates when file not found.
      *
@@ -17,23 +17,37 @@
 
 package org.qubership.atp.mia.repo.impl;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.FileEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.qubership.atp.mia.exceptions.soap.SoapCreateConnectionFailException;
 import org.qubership.atp.mia.exceptions.soap.SoapCreateRequestFailException;
 import org.qubership.atp.mia.exceptions.soap.SoapExecutionFailException;
 import org.qubership.atp.mia.exceptions.soap.SoapGetInstanceFailException;
 import org.qubership.atp.mia.exceptions.soap.SoapWriteIoException;
-import org.qubership.atp.mia.exceptions.soap.SoapWriteOutputFailException;
 import org.qubership.atp.mia.model.environment.Connection;
 import org.qubership.atp.mia.model.environment.Server;
 import org.qubership.atp.mia.model.environment.System;
@@ -41,17 +55,22 @@ import org.qubership.atp.mia.model.impl.CommandResponse;
 import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.executable.Soap;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.repo.impl.pool.rest.HttpCompression;
 import org.qubership.atp.mia.service.MiaContext;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
+import org.qubership.atp.mia.service.execution.RestClientService;
 import org.qubership.atp.mia.service.monitoring.MetricsAggregateService;
 import org.qubership.atp.mia.utils.CryptoUtils;
-import org.qubership.atp.mia.utils.FileUtils;
 import org.qubership.atp.mia.utils.Utils;
+import org.qubership.atp.mia.utils.XmlPrettyWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeader;
 import jakarta.xml.soap.MimeHeaders;
-import jakarta.xml.soap.SOAPConnection;
-import jakarta.xml.soap.SOAPConnectionFactory;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 import lombok.RequiredArgsConstructor;
@@ -62,13 +81,27 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class SoapRepository {
 
+    /**
+     * Lookup of SAAJ factory is slow, so factory is created once and shared, it is stateless.
+     */
+    private static final Supplier<MessageFactory> MESSAGE_FACTORY = Suppliers.memoize(() -> {
+        try {
+            return MessageFactory.newInstance();
+        } catch (SOAPException e) {
+            throw new SoapGetInstanceFailException(e);
+        }
+    });
     private final MiaContext miaContext;
     private final MetricsAggregateService metricsService;
+    private final RestClientService restClientService;
+    private final RequestLogWriter requestLogWriter;
+    @Value("${soap.response.pretty.max.size:10485760}")
+    protected long prettyPrintMaxSize;
 
     private static SOAPMessage createSoapRequest(Soap soap) {
         try {
             InputStream is = new ByteArrayInputStream(soap.getRequest().getBytes());
-            SOAPMessage soapMessage = MessageFactory.newInstance().createMessage(null, is);
+            SOAPMessage soapMessage = MESSAGE_FACTORY.get().createMessage(null, is);
             log.info("Request SOAP Message was created");
             log.debug(soap.getRequest());
             return soapMessage;
@@ -110,27 +143,19 @@ public class SoapRepository {
             hd.addHeader("Authorization", "Basic " + authorization);
             hd.addHeader("SOAPAction", "");
             connectionInfo.put("timestampRequest", Utils.getTimestamp());
-            SOAPConnectionFactory soapConnectionFactory = SOAPConnectionFactory.newInstance();
-            SOAPConnection soapConnection = soapConnectionFactory.createConnection();
-            SOAPMessage soapResponse = soapConnection.call(soapRequest, url);
-            log.info("Response SOAP Message was got");
-            soapConnection.close();
             final File logFile = miaContext.getLogPath().resolve(miaContext.createLogFileName(command)).toFile();
+            call(server, soapRequest, url, logFile.toPath());
+            log.info("Response SOAP Message was got");
             final CommandResponse commandResponse = new CommandResponse(
-                    new CommandOutput(createFileWithResponse(soapResponse, logFile), null, true, miaContext));
+                    new CommandOutput(createFileWithResponse(logFile), null, true, miaContext));
             commandResponse.setConnectionInfo(connectionInfo);
             connectionInfo.put("timestampResponse", Utils.getTimestamp());
-            try {
-                connectionInfo.put("bodyResponse", soapResponse.toString());
-                File fileFullInfo = miaContext.getLogPath().resolve(
-                        miaContext.createLogFileName("SOAP_FULL_INFO", "json")).toFile();
-                FileUtils.logIntoFile(Utils.GSON.toJson(connectionInfo), fileFullInfo);
-                final CommandOutput commandFullInfo = new CommandOutput(fileFullInfo.getPath(), null, false,
-                        miaContext);
-                commandResponse.addCommandOutput(commandFullInfo);
-            } finally {
-                connectionInfo.remove("bodyResponse");
-            }
+            File fileFullInfo = miaContext.getLogPath().resolve(
+                    miaContext.createLogFileName("SOAP_FULL_INFO", "json")).toFile();
+            final CommandOutput commandFullInfo = new CommandOutput(fileFullInfo.getPath(), null, false,
+                    miaContext);
+            commandFullInfo.setWritten(requestLogWriter.write(connectionInfo, fileFullInfo));
+            commandResponse.addCommandOutput(commandFullInfo);
             return commandResponse;
         } catch (SOAPException e) {
             throw new SoapExecutionFailException(e);
@@ -138,26 +163,96 @@ public class SoapRepository {
     }
 
     /**
-     * Writes soap response to file.
+     * Sends soap message via shared pooled SOAP client of server, so connections and TLS sessions are reused
+     * between calls. Like SAAJ connection, redirects are not followed, response with code 500 is kept
+     * as SOAP fault, other codes except 2xx are failures.
+     * Body of response is streamed (decompressed if needed) directly to log file, it is not kept in memory
+     * and SOAP message is not built from it.
+     *
+     * @param logFile file to write body of response to
+     */
+    private void call(Server server, SOAPMessage soapRequest, String url, Path logFile) throws SOAPException {
+        final HttpClient client = restClientService.prepareSoapClient(server);
+        if (soapRequest.saveRequired()) {
+            soapRequest.saveChanges();
+        }
+        final HttpPost post = new HttpPost(url);
+        final Iterator<MimeHeader> requestHeaders = soapRequest.getMimeHeaders().getAllHeaders();
+        while (requestHeaders.hasNext()) {
+            final MimeHeader header = requestHeaders.next();
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+                post.addHeader(header.getName(), header.getValue());
+            }
+        }
+        final ClassicHttpResponse response;
+        try {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            soapRequest.writeTo(body);
+            post.setEntity(new ByteArrayEntity(body.toByteArray(), null));
+            HttpCompression.prepareRequest(post, server);
+            response = client.execute(post, httpResponse -> {
+                final BasicClassicHttpResponse status =
+                        new BasicClassicHttpResponse(httpResponse.getCode(), httpResponse.getReasonPhrase());
+                if (isSoapResponse(httpResponse.getCode()) && httpResponse.getEntity() != null) {
+                    HttpCompression.decompressResponse(httpResponse);
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(logFile))) {
+                        httpResponse.getEntity().writeTo(out);
+                    }
+                    status.setEntity(new FileEntity(logFile.toFile(), null));
+                }
+                return status;
+            });
+        } catch (IOException e) {
+            throw new SOAPException("Message send failed", e);
+        }
+        if (response.getEntity() == null) {
+            throw new SOAPException("Bad response: (" + response.getCode() + response.getReasonPhrase() + ")");
+        }
+    }
+
+    private static boolean isSoapResponse(int code) {
+        return code / 100 == 2 || code == HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Completes file with soap response which is already streamed to it: response is pretty printed
+     * (streaming as well) if its size does not exceed {@link #prettyPrintMaxSize}; in case of error in pretty print
+     * raw response is kept.
      */
-    private String createFileWithResponse(SOAPMessage response, File logFile) {
-        log.info("Creating file with response: {}, logfile: {}", response, logFile);
+    private String createFileWithResponse(File logFile) {
+        log.info("Creating file with response, logfile: {}", logFile);
+        final Path logPath = logFile.toPath();
         try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            response.writeTo(out);
-            int responseSize = out.size() / 1024;
+            final long size = Files.size(logPath);
+            int responseSize = (int) (size / 1024);
             log.info("[SIZE] SOAP Response length: {} kb", responseSize);
             metricsService.soapResponseSize(responseSize);
-            String responseString = out.toString();
-            responseString = Utils.getPrettyStringFromXml(responseString).replaceFirst(">", ">\n");
-            log.debug(responseString);
-            Files.writeString(Path.of(logFile.getPath()), responseString);
+            if (prettyPrintMaxSize <= 0 || size <= prettyPrintMaxSize) {
+                prettyPrint(logPath);
+            } else {
+                log.info("SOAP response is bigger than {} bytes, it is saved without pretty print",
+                        prettyPrintMaxSize);
+            }
         } catch (IOException e) {
             throw new SoapWriteIoException(e);
-        } catch (SOAPException e) {
-            throw new SoapWriteOutputFailException(e);
         }
         log.debug("File with response created, path: {}", logFile.getPath());
         return logFile.getPath();
     }
+
+    private static void prettyPrint(Path file) throws IOException {
+        final Path prettyFile = file.resolveSibling(file.getFileName() + ".pretty");
+        try {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file));
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(prettyFile))) {
+                XmlPrettyWriter.write(in, out);
+            }
+            Files.move(prettyFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (XMLStreamException e) {
+            log.error("Errors occurred while transforming SOAP response to pretty string, raw response is saved.",
+                    e);
+        } finally {
+            Files.deleteIfExists(prettyFile);
+        }
+    }
 }
@@ -17,24 +17,40 @@
 
 package org.qubership.atp.mia.repo.impl;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.qubership.atp.mia.exceptions.MiaException;
@@ -43,7 +59,9 @@ import org.qubership.atp.mia.exceptions.businesslogic.ssh.SshExecutionTimeoutExc
 import org.qubership.atp.mia.exceptions.businesslogic.ssh.SshExecutionWrongExitException;
 import org.qubership.atp.mia.exceptions.businesslogic.ssh.SshSftpException;
 import org.qubership.atp.mia.model.environment.ConnectionProps;
+import org.qubership.atp.mia.model.file.FileFingerprint;
 import org.qubership.atp.mia.repo.impl.pool.ssh.ChannelType;
+import org.qubership.atp.mia.repo.impl.pool.ssh.SshTimeoutScheduler;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.utils.FileUtils;
 import org.qubership.atp.mia.utils.Utils;
@@ -51,26 +69,36 @@ import org.slf4j.MDC;
 
 import com.google.common.base.Strings;
 import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.ChannelShell;
 import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class SshConnectionManager {
 
-    private static final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(100);
+    private static final SshTimeoutScheduler timeoutScheduler = SshTimeoutScheduler.getInstance();
     private static final AtomicLong instancesCounter = new AtomicLong();
     private static final String INTERRUPT_SIGNAL = "INT";
+    private static final long EXIT_STATUS_POLL_INTERVAL = 10;
+    private static final char CTRL_C = 3;
+    private static final int TRANSFER_CHUNK_SIZE = 100;
+    private static final String TRANSFER_RESULT_MARKER = "TRANSFER_RESULT:";
+    private static final Pattern TRANSFER_RESULT_LINE =
+            Pattern.compile("^" + TRANSFER_RESULT_MARKER + "(\\d+):(\\d+)$");
+    private static final Pattern MD5SUM_LINE = Pattern.compile("^([0-9a-fA-F]{32})\\s+\\*?(.+)$");
     private final ConnectionProps properties;
     private final String managerInstanceNumber;
     private final String externalPrefix;
     private final boolean saveFilesToWorkingDir;
     private final SshSession sshSession;
     private final MiaContext miaContext;
-    private StringBuilder commandToExecute;
+    private final ReentrantLock shellLock = new ReentrantLock();
 
     /**
      * Creates instance of {@code SshConnectionManager}.
@@ -94,97 +122,226 @@ public class SshConnectionManager {
 
     /**
      * Executes SSH command with external environment specific.
+     * Command is executed via 'exec' channel when it is turned on for server and external prefix is not used,
+     * otherwise via 'shell' channel.
+     * Whole output is kept in memory, so it can be parsed by caller;
+     * use {@link #runCommand(String, SshOutputCapture)} for commands with long output.
      *
      * @param command command to execute
-     * @return output of command execution
+     * @return command output
      */
-    public synchronized String runCommand(@Nonnull String command) {
-        final StringBuffer output = new StringBuffer();
-        final String prefix = isPrefixPresent() ? externalPrefix + "\n" : "";
-        commandToExecute = new StringBuilder(command);
-        if (command.contains("pbrun -u infinys")) {
-            commandToExecute.append("'");
+    public String runCommand(@Nonnull String command) {
+        try (SshOutputCapture capture = new SshOutputCapture(null, SshOutputCapture.ALL_LINES)) {
+            return runCommand(command, capture);
         }
-        log.info("Execute ssh command:\n{}{}", prefix, commandToExecute);
-        final String stopCode = "STOP " + UUID.randomUUID();
-        final String echoStopCode = "echo \"" + stopCode + "\"";
-        final String finalCommand = commandToExecute.toString() + "\n" + echoStopCode + "\n exit";
-        AtomicBoolean isExecutedFlag = new AtomicBoolean(false);
-        channelFlow(ChannelType.SHELL, false, "Could not run command [" + command + "]", (channel) -> {
-            final ChannelShell channelShell = (ChannelShell) channel;
-            channelShell.setPty(properties.isPty());
-            channelShell.setExtOutputStream(new PipedOutputStream());
-            final long start = System.currentTimeMillis();
-            channelShell.connect(properties.getTimeoutConnect());
-            final ScheduledFuture<?> future = interruptExecutionOnTimeout(command, isExecutedFlag, channelShell);
-            try (final PrintStream input = new PrintStream(channelShell.getOutputStream())) {
-                input.print(prefix);
-                input.print("\n");
-                input.print(finalCommand);
-                input.print("\n");
-                try (InputStream inputStream = channelShell.getInputStream()) {
-                    try (InputStreamReader inputStreamReader = new InputStreamReader(inputStream)) {
-                        try (BufferedReader reader = new BufferedReader(inputStreamReader)) {
-                            String line;
-                            input.flush();
-                            int i = 0;
-                            while ((line = reader.readLine()) != null) {
-                                log.trace("{}) Line output: {}", ++i, line);
-                                //Incorrect exit when command is wrong
-                                if (line.matches("> " + echoStopCode)) {
-                                    log.trace("{}) Line has {}: {}", i, "Incorrect command", line);
-                                    throw new SshExecutionWrongExitException(managerInstanceNumber, finalCommand);
-                                }
-                                //Correct exit
-                                if (line.equals(stopCode)) {
-                                    log.trace("{}) Line correct exit: {}", i, line);
-                                    break;
-                                }
-                                output.append(line).append("\n");
+    }
+
+    /**
+     * Executes SSH command with external environment specific and passes every line of output to capture.
+     *
+     * @param command command to execute
+     * @param capture capture of command output
+     * @return last lines of command output
+     */
+    public String runCommand(@Nonnull String command, @Nonnull SshOutputCapture capture) {
+        if (isExecChannelUsed()) {
+            return executeCommand(command, capture).getOutput();
+        }
+        return runShellCommand(command, capture);
+    }
+
+    /**
+     * Executes SSH command via 'exec' channel.
+     * Whole stdout is kept in memory, use {@link #executeCommand(String, SshOutputCapture)} for long output.
+     *
+     * @param command command to execute
+     * @return result of command execution with exit status and separate stdout/stderr
+     */
+    public SshExecResult executeCommand(@Nonnull String command) {
+        try (SshOutputCapture capture = new SshOutputCapture(null, SshOutputCapture.ALL_LINES)) {
+            return executeCommand(command, capture);
+        }
+    }
+
+    /**
+     * Executes SSH command via 'exec' channel.
+     * End of command is detected by closing of channel, so there is no need in sentinel echo
+     * and several commands can be executed concurrently on the same session.
+     *
+     * @param command command to execute
+     * @param capture capture of command stdout
+     * @return result of command execution with exit status, tail of stdout and tail of stderr
+     */
+    public SshExecResult executeCommand(@Nonnull String command, @Nonnull SshOutputCapture capture) {
+        final String finalCommand = prepareCommand(command);
+        log.info("Execute ssh command via {} channel:\n{}", ChannelType.EXEC, finalCommand);
+        final AtomicBoolean isExecutedFlag = new AtomicBoolean(false);
+        final AtomicReference<SshExecResult> result = new AtomicReference<>();
+        channelFlow(ChannelType.EXEC, false, "Could not run command [" + command + "]", (channel) -> {
+            final ChannelExec channelExec = (ChannelExec) channel;
+            try (SshOutputCapture stderr = new SshOutputCapture();
+                 OutputStream stderrSink = stderr.lineSink()) {
+                channelExec.setCommand(finalCommand);
+                channelExec.setPty(properties.isPty());
+                channelExec.setErrStream(stderrSink, true);
+                final long start = System.currentTimeMillis();
+                boolean aborted = false;
+                try (InputStream inputStream = channelExec.getInputStream()) {
+                    channelExec.connect(properties.getTimeoutConnect());
+                    final SshTimeoutScheduler.Timeout future =
+                            interruptExecutionOnTimeout(command, isExecutedFlag, channelExec);
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            capture.accept(line);
+                            if (capture.isAbortRequested()) {
+                                log.info("Abort execution of command [{}] on line #{}: {}",
+                                        command, capture.getLinesCount(), line);
+                                channelExec.sendSignal(INTERRUPT_SIGNAL);
+                                aborted = true;
+                                break;
                             }
                         }
+                    } catch (IOException e) {
+                        if (!future.isExpired()) {
+                            throw e;
+                        }
+                    } finally {
+                        isExecutedFlag.set(true);
                     }
-                } finally {
-                    if (channelShell.getInputStream() != null) {
-                        channelShell.getInputStream().close();
+                    if (future.isExpired()) {
+                        throw new SshExecutionTimeoutException(command, properties.getTimeoutExecute());
+                    } else {
+                        future.cancel();
                     }
                 }
-            } finally {
-                isExecutedFlag.set(true);
-            }
-            if (future.isDone()) {
-                throw new SshExecutionTimeoutException(command, properties.getTimeoutExecute());
-            } else {
-                future.cancel(true);
+                final int exitStatus = aborted ? channelExec.getExitStatus() : waitForExitStatus(channelExec);
+                stderrSink.close();
+                log.debug("Exec took {} ms, {} lines of output, exit status {}",
+                        System.currentTimeMillis() - start, capture.getLinesCount(), exitStatus);
+                result.set(new SshExecResult(finalCommand, exitStatus, capture.getTail(), stderr.getTail(),
+                        aborted));
             }
-            log.debug("Exec took {} ms", System.currentTimeMillis() - start);
-            log.trace("Output of {} execution:\n{}", ChannelType.SHELL, output);
         });
-        return output.toString();
+        return result.get();
+    }
+
+    /**
+     * Waits while channel is closed to get exit status of command.
+     * Exit status is sent by server right before closing of channel, so wait is limited by connect timeout.
+     *
+     * @param channel channel
+     * @return exit status, -1 if it isn't received
+     */
+    private int waitForExitStatus(Channel channel) {
+        final long waitUntil = System.currentTimeMillis() + properties.getTimeoutConnect();
+        while (!channel.isClosed() && System.currentTimeMillis() < waitUntil) {
+            Utils.sleepForTimeInMillSeconds(EXIT_STATUS_POLL_INTERVAL);
+        }
+        return channel.getExitStatus();
+    }
+
+    private String runShellCommand(@Nonnull String command, @Nonnull SshOutputCapture capture) {
+        // ReentrantLock instead of synchronized: thread waiting for the lock doesn't pin carrier when virtual
+        // threads are used, reading of remote output by JSch still does (see MiaExecutionThreadPool)
+        shellLock.lock();
+        try {
+            final String prefix = isPrefixPresent() ? externalPrefix + "\n" : "";
+            final String commandToExecute = prepareCommand(command);
+            log.info("Execute ssh command:\n{}{}", prefix, commandToExecute);
+            final String stopCode = "STOP " + UUID.randomUUID();
+            final String echoStopCode = "echo \"" + stopCode + "\"";
+            //Shell echoes unfinished command with continuation prompt when command is wrong
+            final String wrongExitLine = "> " + echoStopCode;
+            final String finalCommand = commandToExecute + "\n" + echoStopCode + "\n exit";
+            AtomicBoolean isExecutedFlag = new AtomicBoolean(false);
+            channelFlow(ChannelType.SHELL, false, "Could not run command [" + command + "]", (channel) -> {
+                final ChannelShell channelShell = (ChannelShell) channel;
+                channelShell.setPty(properties.isPty());
+                channelShell.setExtOutputStream(new PipedOutputStream());
+                final long start = System.currentTimeMillis();
+                channelShell.connect(properties.getTimeoutConnect());
+                final SshTimeoutScheduler.Timeout future =
+                        interruptExecutionOnTimeout(command, isExecutedFlag, channelShell);
+                try (final PrintStream input = new PrintStream(channelShell.getOutputStream())) {
+                    input.print(prefix);
+                    input.print("\n");
+                    input.print(finalCommand);
+                    input.print("\n");
+                    try (InputStream inputStream = channelShell.getInputStream()) {
+                        try (InputStreamReader inputStreamReader = new InputStreamReader(inputStream)) {
+                            try (BufferedReader reader = new BufferedReader(inputStreamReader)) {
+                                String line;
+                                input.flush();
+                                while ((line = reader.readLine()) != null) {
+                                    //Incorrect exit when command is wrong
+                                    if (line.equals(wrongExitLine)) {
+                                        log.trace("Line has {}: {}", "Incorrect command", line);
+                                        throw new SshExecutionWrongExitException(managerInstanceNumber, finalCommand);
+                                    }
+                                    //Correct exit
+                                    if (line.equals(stopCode)) {
+                                        log.trace("Line correct exit: {}", line);
+                                        break;
+                                    }
+                                    capture.accept(line);
+                                    if (capture.isAbortRequested()) {
+                                        log.info("Abort execution of command [{}] on line #{}: {}",
+                                                command, capture.getLinesCount(), line);
+                                        input.print(CTRL_C);
+                                        input.flush();
+                                        break;
+                                    }
+                                }
+                            }
+                        }
+                    } finally {
+                        if (channelShell.getInputStream() != null) {
+                            channelShell.getInputStream().close();
+                        }
+                    }
+                } finally {
+                    isExecutedFlag.set(true);
+                }
+                if (future.isExpired()) {
+                    throw new SshExecutionTimeoutException(command, properties.getTimeoutExecute());
+                } else {
+                    future.cancel();
+                }
+                log.debug("Exec took {} ms, {} lines of output", System.currentTimeMillis() - start,
+                        capture.getLinesCount());
+            });
+            return capture.getTail();
+        } finally {
+            shellLock.unlock();
+        }
     }
 
     @NotNull
-    private ScheduledFuture<?> interruptExecutionOnTimeout(@NotNull String command, AtomicBoolean isExecutedFlag,
-                                                           Channel channelShell) {
+    private SshTimeoutScheduler.Timeout interruptExecutionOnTimeout(@NotNull String command,
+                                                                    AtomicBoolean isExecutedFlag,
+                                                                    Channel channelShell) {
         Map<String, String> mdcMap = MDC.getCopyOfContextMap();
         log.debug("Create SSH interrupt scheduler for channel {} with timeout {}", channelShell.getId(),
                 properties.getTimeoutExecute());
-        return executorService.schedule(() -> {
-            Thread.currentThread().setName("mia_ssh_timeout_channel_" + channelShell.getId());
+        return timeoutScheduler.schedule(() -> {
             MdcUtils.setContextMap(mdcMap);
-            if (!isExecutedFlag.get()) {
-                try {
-                    channelShell.sendSignal(INTERRUPT_SIGNAL);
-                    log.info("Ssh command execution was interrupted by timeout.\ncommand: [{}], timeout: [{} ms]",
-                            command, properties.getTimeoutExecute());
-                } catch (Exception e) {
-                    log.info("Can't get channelShell output to interrupt timeout connection [chId = {}]",
-                            channelShell.getId());
-                } finally {
-                    log.info("Closing channel due timeout [chId = {}]", channelShell.getId());
-                    channelShell.disconnect();
-                    Thread.currentThread().interrupt();
+            try {
+                if (!isExecutedFlag.get()) {
+                    try {
+                        channelShell.sendSignal(INTERRUPT_SIGNAL);
+                        log.info("Ssh command execution was interrupted by timeout.\ncommand: [{}], timeout: [{} ms]",
+                                command, properties.getTimeoutExecute());
+                    } catch (Exception e) {
+                        log.info("Can't get channelShell output to interrupt timeout connection [chId = {}]",
+                                channelShell.getId());
+                    } finally {
+                        log.info("Closing channel due timeout [chId = {}]", channelShell.getId());
+                        channelShell.disconnect();
+                    }
                 }
+            } finally {
+                MDC.clear();
             }
         }, properties.getTimeoutExecute(), TimeUnit.MILLISECONDS);
     }
@@ -193,17 +350,224 @@ public class SshConnectionManager {
      * Uploads a file.
      */
     public void uploadFileOnServer(File file, String pathToUpLoad, String workingDirectory) {
+        uploadFilesOnServer(Collections.singletonList(file), pathToUpLoad, workingDirectory);
+    }
+
+    /**
+     * Uploads files via one SFTP channel.
+     * Directory is created and permissions are set over the same SFTP channel,
+     * shell command is used only when external prefix is present or path needs shell expansion.
+     * If files should be uploaded through working directory they are moved to destination by one command.
+     *
+     * @param files            files to upload
+     * @param pathToUpLoad     destination directory
+     * @param workingDirectory working directory
+     */
+    public void uploadFilesOnServer(List<File> files, String pathToUpLoad, String workingDirectory) {
+        uploadFilesOnServer(files, pathToUpLoad, workingDirectory, null);
+    }
+
+    /**
+     * Uploads files via one SFTP channel skipping files which are not changed on server.
+     * Files are compared only when it's turned on for server and files are uploaded directly to destination
+     * (without working directory). Remote file is the same when its size and modification time are equal
+     * to fingerprint of local file, or its size and MD5 checksum when checksum comparison is turned on.
+     * Modification time of uploaded file is set to the local one, so next upload can be skipped.
+     * Regenerated files have new modification time even when content is the same, so comparison by
+     * modification time skips static files only, such files are skipped by checksum comparison.
+     *
+     * @param files            files to upload
+     * @param pathToUpLoad     destination directory
+     * @param workingDirectory working directory
+     * @param fingerprints     provider of fingerprints of local files, {@code null} to upload all files
+     * @return {@link SshUploadResult}
+     */
+    public SshUploadResult uploadFilesOnServer(List<File> files, String pathToUpLoad, String workingDirectory,
+                                               @Nullable Function<File, FileFingerprint> fingerprints) {
         boolean isTmpPathForUpload = isPrefixPresent() || saveFilesToWorkingDir;
-        final String tmpPathForUpload = isTmpPathForUpload ? workingDirectory : pathToUpLoad;
-        log.info("Upload file {} to {}", file, tmpPathForUpload);
-        String command = "mkdir -p " + tmpPathForUpload + "\nchmod 777 " + tmpPathForUpload;
-        this.runCommand(updateCommandForExternalEnv(command));
-        putFileFromServer(file.toPath(), tmpPathForUpload);
+        final String tmpPathForUpload = (isTmpPathForUpload ? workingDirectory : pathToUpLoad).trim();
+        final boolean isSftpMkdir = !isPrefixPresent() && isSftpPath(tmpPathForUpload);
+        final boolean compareFingerprints = fingerprints != null && properties.isSkipUnchangedUploads()
+                && !isTmpPathForUpload && isSftpMkdir;
+        final SshUploadResult result = new SshUploadResult(compareFingerprints);
+        if (files.isEmpty()) {
+            return result;
+        }
+        final Map<File, FileFingerprint> localFingerprints = new HashMap<>();
+        if (compareFingerprints) {
+            files.forEach(file -> localFingerprints.put(file, fingerprints.apply(file)));
+            result.getSkipped().addAll(findUnchangedFiles(files, tmpPathForUpload, localFingerprints));
+            files = files.stream().filter(file -> !result.getSkipped().contains(file)).toList();
+            log.info("Upload fingerprints for {}: {} hit(s), {} miss(es)", tmpPathForUpload,
+                    result.getSkipped().size(), files.size());
+            if (files.isEmpty()) {
+                return result;
+            }
+        }
+        final List<File> filesToUpload = files;
+        log.info("Upload files {} to {}", filesToUpload, tmpPathForUpload);
+        if (!isSftpMkdir) {
+            String command = "mkdir -p " + tmpPathForUpload + "\nchmod 777 " + tmpPathForUpload;
+            this.runCommand(updateCommandForExternalEnv(command));
+        }
+        channelFlow(ChannelType.SFTP, true, "Error while put files %s to %s".formatted(filesToUpload,
+                        tmpPathForUpload),
+                (channel) -> {
+                    final ChannelSftp sftpChannel = (ChannelSftp) channel;
+                    if (isSftpMkdir) {
+                        mkdirs(sftpChannel, tmpPathForUpload);
+                    }
+                    for (File file : filesToUpload) {
+                        putFile(sftpChannel, file.toPath(), tmpPathForUpload);
+                        if (compareFingerprints) {
+                            setMtime(sftpChannel, FileUtils.tempFileName(tmpPathForUpload, file.getName()),
+                                    localFingerprints.get(file));
+                        }
+                    }
+                });
+        result.getUploaded().addAll(filesToUpload);
         if (isTmpPathForUpload) {
-            this.runCommand(updateCommandForExternalEnv("chmod 777 " + workingDirectory));
-            final String tmpPathToFile = FileUtils.tempFileName(workingDirectory, file.getName());
-            transferFileOnServer(tmpPathToFile, pathToUpLoad);
+            final StringJoiner transfer = new StringJoiner("\n");
+            if (isPrefixPresent()) {
+                transfer.add("chmod 777 " + workingDirectory);
+            }
+            filesToUpload.forEach(file -> {
+                final String tmpPathToFile = FileUtils.tempFileName(workingDirectory, file.getName());
+                transfer.add("chmod 777 " + tmpPathToFile).add("cp -p " + tmpPathToFile + " " + pathToUpLoad);
+            });
+            log.info("Transferring files {} from [ {} ] to [ {} ]", filesToUpload, workingDirectory, pathToUpLoad);
+            runCommand(updateCommandForExternalEnv(transfer.toString()));
         }
+        return result;
+    }
+
+    /**
+     * Finds files which are the same on server.
+     * Sizes and modification times of all remote files are requested via one SFTP channel,
+     * MD5 checksums (if turned on) are requested by one command for files with the same size.
+     */
+    private List<File> findUnchangedFiles(List<File> files, String directory,
+                                          Map<File, FileFingerprint> localFingerprints) {
+        final Map<String, File> candidates = new LinkedHashMap<>();
+        channelFlow(ChannelType.SFTP, true, "Error while stat files %s in %s".formatted(files, directory),
+                (channel) -> {
+                    final ChannelSftp sftpChannel = (ChannelSftp) channel;
+                    for (File file : files) {
+                        final String remotePath = FileUtils.tempFileName(directory, file.getName());
+                        final FileFingerprint fingerprint = localFingerprints.get(file);
+                        try {
+                            final SftpATTRS attrs = sftpChannel.stat(remotePath);
+                            if (attrs.getSize() == fingerprint.getSize() && (properties.isUploadChecksum()
+                                    || attrs.getMTime() == fingerprint.getLastModifiedSeconds())) {
+                                candidates.put(remotePath, file);
+                            }
+                        } catch (SftpException e) {
+                            log.debug("Can't stat remote file [{}]: {}", remotePath, e.getMessage());
+                        }
+                    }
+                });
+        if (candidates.isEmpty() || !properties.isUploadChecksum()) {
+            return new ArrayList<>(candidates.values());
+        }
+        final StringJoiner command = new StringJoiner(" ", "md5sum ", "");
+        candidates.keySet().forEach(path -> command.add("'" + path.replace("'", "'\\''") + "'"));
+        final Map<String, String> remoteChecksums = new HashMap<>();
+        try {
+            for (String line : runCommand(command.toString()).split("\\r?\\n")) {
+                final Matcher matcher = MD5SUM_LINE.matcher(line.trim());
+                if (matcher.matches()) {
+                    remoteChecksums.put(matcher.group(2), matcher.group(1).toLowerCase());
+                }
+            }
+        } catch (MiaException e) {
+            log.warn("Can't get checksums of remote files, all files will be uploaded: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+        return candidates.entrySet().stream()
+                .filter(candidate -> localFingerprints.get(candidate.getValue()).getMd5()
+                        .equals(remoteChecksums.get(candidate.getKey())))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    private void setMtime(ChannelSftp sftpChannel, String remotePath, FileFingerprint fingerprint) {
+        try {
+            sftpChannel.setMtime(remotePath, fingerprint.getLastModifiedSeconds());
+        } catch (SftpException e) {
+            log.debug("Can't set modification time of uploaded file [{}]: {}", remotePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads files which content is written directly into SFTP stream, so local file is not needed.
+     * Works only when files are uploaded directly to destination, i.e. external prefix is not present,
+     * files are not saved to working directory and path doesn't need shell expansion.
+     *
+     * @param writers      writers of content by names of files
+     * @param pathToUpLoad destination directory
+     * @return true if files are uploaded, false if streaming is not possible and files should be uploaded as usual
+     */
+    public boolean uploadStreamsOnServer(Map<String, Consumer<OutputStream>> writers, String pathToUpLoad) {
+        final String path = pathToUpLoad.trim();
+        if (isPrefixPresent() || saveFilesToWorkingDir || !isSftpPath(path)) {
+            log.debug("Streaming upload is not possible to {} [{}]", path, managerInstanceNumber);
+            return false;
+        }
+        log.info("Upload generated files {} to {}", writers.keySet(), path);
+        channelFlow(ChannelType.SFTP, true, "Error while put generated files %s to %s".formatted(writers.keySet(),
+                        path),
+                (channel) -> {
+                    final ChannelSftp sftpChannel = (ChannelSftp) channel;
+                    mkdirs(sftpChannel, path);
+                    for (Map.Entry<String, Consumer<OutputStream>> writer : writers.entrySet()) {
+                        final String remotePath = FileUtils.tempFileName(path, writer.getKey());
+                        try (OutputStream outputStream = new BufferedOutputStream(sftpChannel.put(remotePath))) {
+                            writer.getValue().accept(outputStream);
+                        }
+                        chmodUploaded(sftpChannel, remotePath);
+                    }
+                });
+        return true;
+    }
+
+    /**
+     * Creates directory with all parent directories and sets 777 permissions on it.
+     * Errors are only logged, they will be reported by following put of file.
+     */
+    private void mkdirs(ChannelSftp sftpChannel, String directory) {
+        final StringBuilder path = new StringBuilder(directory.startsWith("/") ? "/" : "");
+        for (String part : directory.split("/")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            path.append(part);
+            final String currentPath = path.toString();
+            try {
+                sftpChannel.stat(currentPath);
+            } catch (SftpException e) {
+                if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                    log.warn("Can't check directory [{}]: {}", currentPath, e.getMessage());
+                }
+                try {
+                    sftpChannel.mkdir(currentPath);
+                } catch (SftpException mkdirException) {
+                    log.warn("Can't create directory [{}]: {}", currentPath, mkdirException.getMessage());
+                }
+            }
+            path.append('/');
+        }
+        try {
+            sftpChannel.chmod(Integer.parseInt("777", 8), directory);
+        } catch (SftpException e) {
+            log.debug("Can't use chmod at directory [{}]: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether path can be used in SFTP as is, i.e. it doesn't need expansion by shell.
+     */
+    private static boolean isSftpPath(String path) {
+        return !path.isEmpty() && !path.startsWith("~") && path.chars().noneMatch(c -> "$`*?{}".indexOf(c) >= 0);
     }
 
     /**
@@ -215,10 +579,72 @@ public class SshConnectionManager {
         runCommand(updateCommandForExternalEnv(command));
     }
 
+    /**
+     * Transfers files on server by batched scripts instead of one command per file.
+     * Every script contains up to {@link #TRANSFER_CHUNK_SIZE} files, result of every 'cp'
+     * is printed as {@code TRANSFER_RESULT:<index>:<exit status>} line and parsed while output is read.
+     * Script always has output, so unlike other commands it is not sent to background for external environment
+     * without pty (see {@link #updateCommandForExternalEnv(String)}): only last line would be in background
+     * and its result could be lost.
+     *
+     * @param pathsToFiles paths to files on server
+     * @param pathToUpLoad destination on server
+     * @return exit statuses of 'cp' in order of paths, {@code -1} if result of file is not received
+     */
+    public int[] transferFilesOnServer(List<String> pathsToFiles, String pathToUpLoad) {
+        final AtomicIntegerArray statuses = new AtomicIntegerArray(pathsToFiles.size());
+        for (int i = 0; i < pathsToFiles.size(); i++) {
+            statuses.set(i, -1);
+        }
+        for (int from = 0; from < pathsToFiles.size(); from += TRANSFER_CHUNK_SIZE) {
+            final int to = Math.min(from + TRANSFER_CHUNK_SIZE, pathsToFiles.size());
+            log.info("Transferring files {}-{} of {} to [ {} ]", from + 1, to, pathsToFiles.size(), pathToUpLoad);
+            final StringJoiner script = new StringJoiner("\n");
+            for (int i = from; i < to; i++) {
+                final String pathToFile = pathsToFiles.get(i);
+                script.add("chmod 777 %s; cp -p %s %s; echo \"%s%d:$?\"".formatted(pathToFile, pathToFile,
+                        pathToUpLoad, TRANSFER_RESULT_MARKER, i));
+            }
+            try (SshOutputCapture capture = new SshOutputCapture().addListener(line -> {
+                final Matcher matcher = TRANSFER_RESULT_LINE.matcher(line.trim());
+                if (matcher.matches()) {
+                    final int index = Integer.parseInt(matcher.group(1));
+                    if (index < statuses.length()) {
+                        statuses.set(index, Integer.parseInt(matcher.group(2)));
+                    }
+                }
+            })) {
+                runCommand(script.toString(), capture);
+            }
+        }
+        final int[] result = new int[statuses.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = statuses.get(i);
+        }
+        return result;
+    }
+
     /**
      * Get file from ssh server.
      */
     public File getFileFromServer(String path, String workingDirectory) {
+        return getFileFromServer(path, workingDirectory, 0, 0);
+    }
+
+    /**
+     * Get file from ssh server. If file is bigger than {@code headBytes + tailBytes} and tail is requested
+     * then only first {@code headBytes} and last {@code tailBytes} are read via SFTP offsets,
+     * skipped part is replaced by one line with amount of skipped bytes.
+     * Tail starts from the first full line. Such file is labeled as truncated by its name
+     * (see {@link #truncatedFileName(String)}), so it is not mistaken for full log in UI and POT.
+     *
+     * @param path             path to file on server
+     * @param workingDirectory working directory
+     * @param headBytes        amount of leading bytes to download, 0 to download only tail
+     * @param tailBytes        amount of trailing bytes to download, 0 to download full file
+     * @return downloaded file
+     */
+    public File getFileFromServer(String path, String workingDirectory, long headBytes, long tailBytes) {
         log.info("Getting file {}", path);
         String tempPath = path;
         String fileName = FilenameUtils.getName(path);
@@ -234,15 +660,57 @@ public class SshConnectionManager {
             }
         }
         final String src = tempPath;
-        final File dest = miaContext.getLogPath().resolve(fileName).toFile();
-        dest.getParentFile().mkdirs();
-        commandToExecute = new StringBuilder("get file from server [src: %s, dest: %s]".formatted(
-                src, dest.getAbsolutePath()));
-        String exceptionStr = "Failed to " + commandToExecute;
-        channelFlow(ChannelType.SFTP, true, exceptionStr,
-                (channel) -> ((ChannelSftp) channel).get(src, dest.getPath()));
-        log.info("Got file, newPath: {}; oldPath: {}", dest, path);
-        return dest;
+        final File fullDest = miaContext.getLogPath().resolve(fileName).toFile();
+        fullDest.getParentFile().mkdirs();
+        final String exceptionStr = "Failed to get file from server [src: %s, dest: %s]".formatted(
+                src, fullDest.getAbsolutePath());
+        final AtomicReference<File> dest = new AtomicReference<>(fullDest);
+        channelFlow(ChannelType.SFTP, true, exceptionStr, (channel) -> {
+            final ChannelSftp sftpChannel = (ChannelSftp) channel;
+            final long size = tailBytes > 0 ? sftpChannel.stat(src).getSize() : 0;
+            if (tailBytes > 0 && size > headBytes + tailBytes) {
+                dest.set(miaContext.getLogPath().resolve(truncatedFileName(fileName)).toFile());
+                getFileRange(sftpChannel, src, dest.get(), size, headBytes, tailBytes);
+            } else {
+                sftpChannel.get(src, fullDest.getPath());
+            }
+        });
+        log.info("Got file, newPath: {}; oldPath: {}", dest.get(), path);
+        return dest.get();
+    }
+
+    /**
+     * Name of file which contains only head and tail of file on server, e.g. 'command_truncated.log'.
+     *
+     * @param fileName name of file on server
+     * @return name of truncated file
+     */
+    public static String truncatedFileName(String fileName) {
+        final String extension = FilenameUtils.getExtension(fileName);
+        return FilenameUtils.getBaseName(fileName) + "_truncated" + (extension.isEmpty() ? "" : "." + extension);
+    }
+
+    private void getFileRange(ChannelSftp sftpChannel, String src, File dest, long size, long headBytes,
+                              long tailBytes) throws SftpException, IOException {
+        log.info("Getting {} head and {} tail bytes of file {} with size {}", headBytes, tailBytes, src, size);
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(dest))) {
+            if (headBytes > 0) {
+                try (InputStream head = sftpChannel.get(src, null, 0)) {
+                    IOUtils.copyLarge(head, outputStream, 0, headBytes);
+                }
+            }
+            final String skipped = "... log is truncated: %d of %d bytes are skipped, full log is %s on server ...%n"
+                    .formatted(size - headBytes - tailBytes, size, src);
+            outputStream.write((headBytes > 0 ? System.lineSeparator() + skipped : skipped)
+                    .getBytes(StandardCharsets.UTF_8));
+            try (InputStream tail = new BufferedInputStream(sftpChannel.get(src, null, size - tailBytes))) {
+                int firstLineByte;
+                do {
+                    firstLineByte = tail.read();
+                } while (firstLineByte != -1 && firstLineByte != '\n');
+                IOUtils.copyLarge(tail, outputStream);
+            }
+        }
     }
 
     /**
@@ -250,23 +718,25 @@ public class SshConnectionManager {
      */
     public void putFileFromServer(Path pathToFile, String pathToUpLoad) {
         channelFlow(ChannelType.SFTP, true, "Error while put file %s to %s".formatted(pathToFile, pathToUpLoad),
-                (channel) -> {
-                    final ChannelSftp sftpChannel = (ChannelSftp) channel;
-                    sftpChannel.put(pathToFile.toString(), pathToUpLoad.trim());
-                    final String pathToUploaded =
-                            FileUtils.tempFileName(pathToUpLoad, pathToFile.getFileName().toString());
-                    try {
-                        sftpChannel.chmod(Integer.parseInt("777", 8), pathToUploaded);
-                    } catch (SftpException e) {
-                        if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
-                            // At Bulk Validator files are removed right after upload, it's fix.
-                            log.error("Can't use chmod at uploaded file [{}], it doesn't exist anymore!",
-                                    pathToUploaded);
-                        } else {
-                            throw e;
-                        }
-                    }
-                });
+                (channel) -> putFile((ChannelSftp) channel, pathToFile, pathToUpLoad));
+    }
+
+    private void putFile(ChannelSftp sftpChannel, Path pathToFile, String pathToUpLoad) throws SftpException {
+        sftpChannel.put(pathToFile.toString(), pathToUpLoad.trim());
+        chmodUploaded(sftpChannel, FileUtils.tempFileName(pathToUpLoad, pathToFile.getFileName().toString()));
+    }
+
+    private void chmodUploaded(ChannelSftp sftpChannel, String pathToUploaded) throws SftpException {
+        try {
+            sftpChannel.chmod(Integer.parseInt("777", 8), pathToUploaded);
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                // At Bulk Validator files are removed right after upload, it's fix.
+                log.error("Can't use chmod at uploaded file [{}], it doesn't exist anymore!", pathToUploaded);
+            } else {
+                throw e;
+            }
+        }
     }
 
     /**
@@ -296,6 +766,8 @@ public class SshConnectionManager {
         for (int retryId = 0; retryId <= retryCount; retryId++) {
             try {
                 log.trace("Open '{}' channel [{}]", channelType, managerInstanceNumber);
+                // reset channel of previous attempt, it is already closed in finally
+                channel = null;
                 channel = sshSession.openChannel(channelType);
                 channelId = channel == null ? -1 : channel.getId();
                 log.info("Channel '{}, {}' opened [user: {}, connManager:{}]",
@@ -348,18 +820,44 @@ public class SshConnectionManager {
     }
 
     /**
-     * Gets executed command.
+     * Gets command as it is sent to server: quote opened by 'pbrun' is closed.
      *
-     * @return executed command
+     * @param command command
+     * @return command to execute
      */
-    public String getExecutedCommand() {
-        return commandToExecute == null ? "" : commandToExecute.toString();
+    static String prepareCommand(String command) {
+        return command.contains("pbrun -u infinys") ? command + "'" : command;
     }
 
     private boolean isPrefixPresent() {
         return !Strings.isNullOrEmpty(externalPrefix);
     }
 
+    /**
+     * Whether output of command can be streamed directly to local file.
+     * It requires 'exec' channel, because output of 'shell' channel contains echo of input and prompts.
+     *
+     * @return true if output streaming is turned on for server and 'exec' channel is used
+     */
+    public boolean isOutputStreamingUsed() {
+        return properties.isStreamOutput() && isExecChannelUsed();
+    }
+
+    /**
+     * Checks that command should be executed via 'exec' channel.
+     * External prefix requires interactive environment, so 'shell' channel is used in this case.
+     *
+     * @return true if 'exec' channel is turned on for server and external prefix is not used
+     */
+    public boolean isExecChannelUsed() {
+        if (properties.isExecChannel() && isPrefixPresent()) {
+            log.debug("External prefix is used, command will be executed via {} channel [{}]",
+                    ChannelType.SHELL, managerInstanceNumber);
+            return false;
+        }
+        return properties.isExecChannel();
+    }
+
     /**
      * Gets connectionInfo.
      *
@@ -21,18 +21,12 @@ import java.util.Map;
 
 public class SshConnectionResponse {
 
-    private final String executedCommand;
     private final Map<String, String> connectionInfo;
 
     public SshConnectionResponse(SshConnectionManager manager) {
-        executedCommand = manager.getExecutedCommand();
         connectionInfo = manager.connectionInfo();
     }
 
-    public String getExecutedCommand() {
-        return executedCommand;
-    }
-
     public Map<String, String> connectionInfo() {
         return connectionInfo;
     }
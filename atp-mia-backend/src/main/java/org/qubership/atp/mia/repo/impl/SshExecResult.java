@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of command executed via 'exec' channel.
+ * Stdout and stderr are received by separate streams of channel, so order of their lines relative
+ * to each other is lost.
+ */
+@Getter
+@AllArgsConstructor
+public class SshExecResult {
+
+    /**
+     * Exit status when channel is closed without it, e.g. command is aborted or killed.
+     */
+    public static final int NO_EXIT_STATUS = -1;
+
+    private final String command;
+    private final int exitStatus;
+    private final String stdout;
+    private final String stderr;
+    private final boolean aborted;
+
+    /**
+     * Gets output of command: stdout followed by stderr.
+     * Lines of stderr are not interleaved with lines of stdout in order of their appearance,
+     * all of them are appended after stdout.
+     *
+     * @return output of command
+     */
+    public String getOutput() {
+        return stderr.isEmpty() ? stdout : stdout + stderr;
+    }
+}
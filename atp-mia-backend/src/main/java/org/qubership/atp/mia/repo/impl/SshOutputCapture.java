@@ -0,0 +1,259 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.qubership.atp.mia.exceptions.fileservice.IoException;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Captures output of ssh command line by line.
+ * Every line is written to output file (if defined) through buffered writer,
+ * while in memory only last {@code tailLines} lines are kept.
+ * Listeners (e.g. marker matcher) are notified about every line while command is still running,
+ * and abort condition lets them stop the command before it is finished.
+ * {@link ReentrantLock} is used instead of monitors, so writing of output doesn't pin carrier of virtual thread.
+ */
+@Slf4j
+public class SshOutputCapture implements Closeable {
+
+    public static final int DEFAULT_TAIL_LINES = 200;
+    /**
+     * Amount of tail lines to keep whole output in memory.
+     */
+    public static final int ALL_LINES = Integer.MAX_VALUE;
+
+    private final int tailLines;
+    private final ArrayDeque<String> tail;
+    @Getter
+    @Nullable
+    private final Path outputFile;
+    @Nullable
+    private final BufferedWriter writer;
+    @Getter
+    private long linesCount;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile BooleanSupplier abortCondition = () -> false;
+
+    /**
+     * Creates capture which keeps only tail of output in memory.
+     */
+    public SshOutputCapture() {
+        this(null, DEFAULT_TAIL_LINES);
+    }
+
+    /**
+     * Creates capture which streams output to file and keeps tail of output in memory.
+     *
+     * @param outputFile file to write output, {@code null} if output shouldn't be written
+     * @param tailLines  amount of last lines to keep in memory
+     */
+    public SshOutputCapture(@Nullable Path outputFile, int tailLines) {
+        this.tailLines = Math.max(1, tailLines);
+        this.tail = new ArrayDeque<>(Math.min(this.tailLines, DEFAULT_TAIL_LINES));
+        this.outputFile = outputFile;
+        if (outputFile != null) {
+            try {
+                if (outputFile.getParent() != null) {
+                    Files.createDirectories(outputFile.getParent());
+                }
+                writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IoException(outputFile.toFile(), e);
+            }
+        } else {
+            writer = null;
+        }
+    }
+
+    /**
+     * Accepts next line of output.
+     *
+     * @param line line without line separator
+     */
+    public void accept(String line) {
+        lock.lock();
+        try {
+            linesCount++;
+            if (tail.size() >= tailLines) {
+                tail.pollFirst();
+            }
+            tail.addLast(line);
+            if (writer != null) {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new IoException(outputFile.toFile(), e);
+                }
+            }
+            listeners.forEach(listener -> listener.accept(line));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds listener which receives every line of output.
+     *
+     * @param listener listener
+     * @return this capture
+     */
+    public SshOutputCapture addListener(Consumer<String> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Sets condition to abort command execution. Condition is checked after every line of output.
+     *
+     * @param abortCondition abort condition
+     * @return this capture
+     */
+    public SshOutputCapture abortWhen(BooleanSupplier abortCondition) {
+        this.abortCondition = abortCondition;
+        return this;
+    }
+
+    /**
+     * Whether command execution should be aborted.
+     *
+     * @return true if abort condition is met
+     */
+    public boolean isAbortRequested() {
+        return abortCondition.getAsBoolean();
+    }
+
+    /**
+     * Gets last lines of output.
+     *
+     * @return last lines of output, each line ends with line separator
+     */
+    public String getTail() {
+        lock.lock();
+        try {
+            final StringBuilder sb = new StringBuilder();
+            tail.forEach(line -> sb.append(line).append("\n"));
+            return sb.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates output stream which splits written bytes into lines and passes them to this capture.
+     * Useful for streams which are written by JSch itself, like stderr of exec channel.
+     *
+     * @return output stream
+     */
+    public OutputStream lineSink() {
+        return new LineOutputStream();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    log.error("Can't close output file {}", outputFile, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class LineOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            lock.lock();
+            try {
+                if (b == '\n') {
+                    flushLine();
+                } else {
+                    buffer.write(b);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            lock.lock();
+            try {
+                int start = off;
+                for (int i = off; i < off + len; i++) {
+                    if (b[i] == '\n') {
+                        buffer.write(b, start, i - start);
+                        flushLine();
+                        start = i + 1;
+                    }
+                }
+                buffer.write(b, start, off + len - start);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (buffer.size() > 0) {
+                    flushLine();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flushLine() {
+            String line = buffer.toString(StandardCharsets.UTF_8);
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            buffer.reset();
+            accept(line);
+        }
+    }
+}
@@ -53,7 +53,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SshSession {
 
-    private Session session;
+    private static final int KEEP_ALIVE_COUNT_MAX = 3;
+    private volatile Session session;
 
     @Getter
     private final UUID sessionId = UUID.randomUUID();
@@ -67,6 +68,7 @@ public class SshSession {
 
     private String rsaFilePath;
     private boolean isIdentityAdded;
+    private volatile long lastUsedTime = System.currentTimeMillis();
 
     /**
      * Creates details for ssh session, which used when opening {@link Channel} and {@link Session}.
@@ -117,6 +119,7 @@ public class SshSession {
                 createSession(1);
             }
             channelsCounter.incrementAndGet();
+            lastUsedTime = System.currentTimeMillis();
             return openChannel(channelType, 1);
         } finally {
             channelsCounter.decrementAndGet();
@@ -143,29 +146,40 @@ public class SshSession {
                 }
             }
             openChannels.incrementAndGet();
-            try {
-                log.trace("Free to open channel with ID {}", channelId);
-                ch = session.openChannel(channelType.toString());
-                if (ch == null || ch.isClosed()) {
-                    String err = "Can't open channel it %s".formatted(ch == null
-                            ? "is null" : ch.isClosed()
-                            ? "is closed" : "unknown reason");
-                    throw new Exception(err);
-                } else {
+            while (true) {
+                try {
+                    log.trace("Free to open channel with ID {}", channelId);
+                    ch = session.openChannel(channelType.toString());
+                    if (ch == null || ch.isClosed()) {
+                        String err = "Can't open channel it %s".formatted(ch == null
+                                ? "is null" : ch.isClosed()
+                                ? "is closed" : "unknown reason");
+                        throw new Exception(err);
+                    }
                     log.debug("Channel with ID {} opened successfully", channelId);
+                    return ch;
+                } catch (Exception e) {
+                    log.error("Can't open ssh channel with ID {}: {}", channelId, e.getMessage());
+                    if (retryCount++ >= retries) {
+                        openChannels.decrementAndGet();
+                        throw new SshChannelCreateFailException(channelId, e.getMessage());
+                    }
+                    if (!isConnected()) {
+                        log.warn("Session {} is down, reconnect it before retry to open channel {}",
+                                sessionId, channelId);
+                        try {
+                            createSession(1);
+                        } catch (RuntimeException reconnectException) {
+                            openChannels.decrementAndGet();
+                            throw reconnectException;
+                        }
+                    }
+                    log.debug("Retry open channel with ID {}", channelId);
                 }
-            } catch (Exception e) {
-                log.error("Can't open ssh channel with ID {}: {}", channelId, e.getMessage());
-                if (retryCount++ >= retries) {
-                    throw new SshChannelCreateFailException(channelId, e.getMessage());
-                }
-                log.debug("Retry open channel with ID {}", channelId);
-                openChannel(channelType, retryCount);
             }
         } catch (InterruptedException e) {
             throw new SshChannelCreateInterruptionException(channelId, e.getMessage());
         }
-        return ch;
     }
 
     /**
@@ -175,7 +189,11 @@ public class SshSession {
      */
     public void closeChannel(Channel channel) {
         log.debug("Close channel for session {}", sessionId);
-        if (channel != null && channel.isConnected()) {
+        if (channel == null) {
+            // channel wasn't opened, so it isn't counted in open channels
+            return;
+        }
+        if (channel.isConnected()) {
             channel.disconnect();
         }
         log.debug("Open channels for session {}: {}/{}", sessionId,
@@ -191,17 +209,7 @@ public class SshSession {
         if (!isConnected()) {
             log.trace("Create a new session with {} in sshManager #{}", properties, sessionId);
             try {
-                addIdentity(jsch);
-                session = jsch.getSession(properties.getUsername(), properties.getHostname(), properties.getPort());
-                session.setServerAliveInterval(SshSessionPool.KEEP_ALIVE_MSG_INTERVAL);
-                session.setConfig(getSessionConfig(session));
-                session.setPassword(CryptoUtils.decryptValue(properties.getPassword()));
-                session.setTimeout(properties.getTimeoutConnect());
-                session.setServerAliveCountMax(Integer.MAX_VALUE);
-                session.connect(properties.getTimeoutConnect());
-                if (!session.isConnected()) {
-                    throw new RetryException("Session is not connected after attempt.");
-                }
+                session = connectSession();
                 log.trace("Session created for {}", sessionId);
             } catch (RetryException e) {
                 log.error("Session didn't open after connect {}. {}", sessionId, e.getMessage());
@@ -216,6 +224,90 @@ public class SshSession {
         }
     }
 
+    /**
+     * Creates and connects new jsch session.
+     * Dead session (e.g. half-open TCP connection) is disconnected by jsch
+     * after {@value #KEEP_ALIVE_COUNT_MAX} keepalive messages without answer.
+     *
+     * @return connected session
+     * @throws JSchException in case of connection error
+     */
+    private Session connectSession() throws JSchException {
+        addIdentity(jsch);
+        Session newSession = jsch.getSession(properties.getUsername(), properties.getHostname(), properties.getPort());
+        newSession.setServerAliveInterval(SshSessionPool.KEEP_ALIVE_MSG_INTERVAL);
+        newSession.setConfig(getSessionConfig(newSession));
+        newSession.setPassword(CryptoUtils.decryptValue(properties.getPassword()));
+        newSession.setTimeout(properties.getTimeoutConnect());
+        newSession.setServerAliveCountMax(KEEP_ALIVE_COUNT_MAX);
+        newSession.connect(properties.getTimeoutConnect());
+        if (!newSession.isConnected()) {
+            throw new RetryException("Session is not connected after attempt.");
+        }
+        return newSession;
+    }
+
+    /**
+     * Checks health of session which is not in use and replaces it when it is dead.
+     * Callers are never blocked: session in use is skipped, and new session is connected
+     * outside of lock and only swapped under it. Reconnection blocks up to connect timeout,
+     * so it should not be called on threads of {@link org.qubership.atp.mia.repo.impl.pool.ssh.SshTimeoutScheduler}.
+     *
+     * @param idleLimitMs dead session is reconnected only if it was used within this time
+     * @return false if session is dead and can't be reconnected, true otherwise
+     */
+    public boolean keepAlive(long idleLimitMs) {
+        if (session == null || isExecuting()) {
+            return true;
+        }
+        if (session.isConnected()) {
+            if (!locker.tryLock()) {
+                return true;
+            }
+            try {
+                session.sendKeepAliveMsg();
+                return true;
+            } catch (Exception e) {
+                log.warn("Keepalive failed for session {}, disconnect it: {}", sessionId, e.getMessage());
+                session.disconnect();
+            } finally {
+                locker.unlock();
+            }
+        }
+        if (System.currentTimeMillis() - lastUsedTime > idleLimitMs) {
+            log.debug("Session {} is down and not used for a long time, skip reconnection", sessionId);
+            return true;
+        }
+        return reconnect();
+    }
+
+    private boolean reconnect() {
+        log.info("Session {} is down, reconnect it in background [{}]", sessionId, properties);
+        final Session freshSession;
+        try {
+            freshSession = connectSession();
+        } catch (Exception e) {
+            log.warn("Can't reconnect session {}: {}", sessionId, e.getMessage());
+            return false;
+        }
+        if (!locker.tryLock()) {
+            // session is being used, caller reconnects it itself if needed
+            freshSession.disconnect();
+            return true;
+        }
+        try {
+            if (isConnected()) {
+                freshSession.disconnect();
+            } else {
+                session = freshSession;
+                log.info("Session {} reconnected", sessionId);
+            }
+        } finally {
+            locker.unlock();
+        }
+        return true;
+    }
+
     private void addIdentity(JSch jsch) {
         if (!isIdentityAdded && !Strings.isNullOrEmpty(properties.getKey())) {
             final byte[] key = CryptoUtils.decryptValue(properties.getKey()).getBytes(StandardCharsets.UTF_8);
@@ -294,6 +386,18 @@ public class SshSession {
         return isDisconnected;
     }
 
+    /**
+     * Disconnects ssh session even if there are channels in use.
+     * Should be used only when session is stuck, e.g. channels are not closed after execution timeout.
+     */
+    public void forceDisconnect() {
+        if (isConnected()) {
+            log.warn("Force disconnect SSH connection {}, channels in use: {} [{}]",
+                    this.properties, openChannels.get(), sessionId);
+            session.disconnect();
+        }
+    }
+
     public boolean isExecuting() {
         return channelsCounter.get() > 0 || openChannels.get() > 0;
     }
@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Result of upload of files via SFTP.
+ * When fingerprints are compared, files which are not changed on server are skipped (fingerprint hits),
+ * all other files are uploaded (fingerprint misses).
+ */
+@Getter
+public class SshUploadResult {
+
+    private final boolean fingerprintsCompared;
+    private final List<File> uploaded = new ArrayList<>();
+    private final List<File> skipped = new ArrayList<>();
+
+    public SshUploadResult(boolean fingerprintsCompared) {
+        this.fingerprintsCompared = fingerprintsCompared;
+    }
+
+    /**
+     * Gets description of upload for command response.
+     *
+     * @return description with amount of fingerprint hits and misses
+     */
+    public String getDescription() {
+        return "Upload fingerprints: %d hit(s), %d miss(es). Skipped unchanged files: %s".formatted(
+                skipped.size(), uploaded.size(), skipped.stream().map(File::getName).toList());
+    }
+}
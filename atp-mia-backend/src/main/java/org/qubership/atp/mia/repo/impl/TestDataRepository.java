@@ -53,6 +53,7 @@ import org.qubership.atp.mia.model.impl.testdata.parsed.ValidatedParameters;
 import org.qubership.atp.mia.repo.ContextRepository;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.execution.RestExecutionHelperService;
+import org.qubership.atp.mia.service.execution.RestRequestWindow;
 import org.qubership.atp.mia.service.execution.SoapExecutionHelperService;
 import org.qubership.atp.mia.service.execution.SqlExecutionHelperService;
 import org.qubership.atp.mia.service.file.MiaFileService;
@@ -606,22 +607,25 @@ public class TestDataRepository {
      * @param command command
      */
     public void restScenario(Scenario sceMain, Scenario sceSec, Command command) {
-        //Execute REST from Main sheet
-        sceMain.getDescriptions().forEach(descriptionMain -> {
-            final Description descriptionSecond = sceSec == null
-                    ? null
-                    : sceSec.getDescriptions().stream()
-                    .filter(descr -> descr.getName().equals(descriptionMain.getName())).findFirst()
-                    .orElse(null);
-            restDescriptionToExecute(sceMain.getName(), descriptionMain, descriptionSecond, command);
-        });
-        if (sceSec != null) {
-            //Execute REST from Test Data sheet
-            sceSec.getDescriptions().forEach(descriptionMain -> {
-                final Description descriptionSecond = sceMain.getDescriptions().stream()
-                        .filter(descr -> descr.getName().equals(descriptionMain.getName())).findFirst().orElse(null);
-                restDescriptionToExecute(sceSec.getName(), descriptionMain, descriptionSecond, command);
+        try (RestRequestWindow window = new RestRequestWindow(restService, restService.getMaxInFlight())) {
+            //Execute REST from Main sheet
+            sceMain.getDescriptions().forEach(descriptionMain -> {
+                final Description descriptionSecond = sceSec == null
+                        ? null
+                        : sceSec.getDescriptions().stream()
+                        .filter(descr -> descr.getName().equals(descriptionMain.getName())).findFirst()
+                        .orElse(null);
+                restDescriptionToExecute(sceMain.getName(), descriptionMain, descriptionSecond, command, window);
             });
+            if (sceSec != null) {
+                //Execute REST from Test Data sheet
+                sceSec.getDescriptions().forEach(descriptionMain -> {
+                    final Description descriptionSecond = sceMain.getDescriptions().stream()
+                            .filter(descr -> descr.getName().equals(descriptionMain.getName())).findFirst()
+                            .orElse(null);
+                    restDescriptionToExecute(sceSec.getName(), descriptionMain, descriptionSecond, command, window);
+                });
+            }
         }
     }
 
@@ -632,11 +636,13 @@ public class TestDataRepository {
      * @param descrM       description on main sheet
      * @param descrS       description on test data sheet
      * @param command      command
+     * @param window       window of REST requests
      */
     private void restDescriptionToExecute(String scenarioName,
                                           Description descrM,
                                           Description descrS,
-                                          Command command) {
+                                          Command command,
+                                          RestRequestWindow window) {
         parseListToExecuteWithConsumer(command, (columnToExecute) -> {
             log.info("REST FROM MATRIX: [scenario:{}],[description:{}],[column:{}]",
                     scenarioName, descrM.getName(), columnToExecute);
@@ -644,14 +650,17 @@ public class TestDataRepository {
             currCommand.setRest(Rest.builder().build());
             if (descrM.getOtherParams() != null && descrM.getOtherParams().containsKey(columnToExecute)) {
                 currCommand.getRest().setRestFile(descrM.getOtherParams().get(columnToExecute));
-                descrM.getOtherParams().put(columnToExecute, executeRest(currCommand, descrM, descrS));
+                executeRest(currCommand, descrM, descrS, window,
+                        result -> descrM.getOtherParams().put(columnToExecute, result));
             } else if (descrM.getEventParams() != null && descrM.getEventParams().containsKey(columnToExecute)) {
                 currCommand.getRest().setRestFile(descrM.getEventParams().get(columnToExecute));
-                descrM.getEventParams().put(columnToExecute, executeRest(currCommand, descrM, descrS));
+                executeRest(currCommand, descrM, descrS, window,
+                        result -> descrM.getEventParams().put(columnToExecute, result));
             } else if (descrM.getValidationParams() != null
                     && descrM.getValidationParams().containsKey(columnToExecute)) {
                 currCommand.getRest().setRestFile(descrM.getValidationParams().get(columnToExecute));
-                descrM.getValidationParams().put(columnToExecute, executeRest(currCommand, descrM, descrS));
+                executeRest(currCommand, descrM, descrS, window,
+                        result -> descrM.getValidationParams().put(columnToExecute, result));
             } else {
                 log.debug("REST FROM MATRIX: [scenario:{}],[description:{}] - column '{}' not found",
                         scenarioName, descrM.getName(), columnToExecute);
@@ -660,15 +669,23 @@ public class TestDataRepository {
     }
 
     /**
-     * Execute sql from description.
+     * Execute rest from description. Request is submitted to window and its result is passed to consumer
+     * when response is handled, immediately in case of synchronous execution.
+     * Parameters of descriptions are set before sending of request and again before handling of response.
+     * Results of requests which are still waiting in window aren't visible to next requests yet,
+     * see {@link RestRequestWindow}.
      *
      * @param command command instance
      * @param descrM  description on main sheet
      * @param descrS  description on test data sheet
-     * @return result of sql execution
+     * @param window  window of REST requests
+     * @param result  consumer of result of rest execution
      */
-    private String executeRest(Command command, Description descrM, Description descrS) {
-        return executeWithFunction("REST", command, descrM, descrS, () -> restService.sendRestRequest(command));
+    private void executeRest(Command command, Description descrM, Description descrS, RestRequestWindow window,
+                             Consumer<String> result) {
+        contextRepository.getContext().addParameters(getParametersFromDescriptions(descrM, descrS));
+        window.submit(command, response -> result.accept(executeWithFunction("REST", command, descrM, descrS,
+                response)));
     }
 
     /**
@@ -0,0 +1,239 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.entity.DeflateInputStream;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.utils.Utils;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content encoding of REST and SOAP requests and responses, configured per server by {@link Server#getCompression()}.
+ * Responses in gzip and deflate are decompressed while they are read, so they are never kept in compressed
+ * and decompressed form at the same time; amount of compressed and decompressed bytes is counted in metrics.
+ */
+@Slf4j
+public final class HttpCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    public static final String NONE = "none";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ACCEPT_ENCODING = GZIP + ", " + X_GZIP + ", " + DEFLATE;
+    private static final String COMPRESSED_BYTES = "mia.http.response.compressed.bytes";
+    private static final String DECOMPRESSED_BYTES = "mia.http.response.decompressed.bytes";
+
+    private HttpCompression() {
+    }
+
+    /**
+     * Negotiates compression for request: adds Accept-Encoding header (if it is not set already)
+     * and compresses body if it is required for server.
+     *
+     * @param request request with body in memory
+     * @param server  server
+     * @throws IOException if body could not be compressed
+     */
+    public static void prepareRequest(ClassicHttpRequest request, Server server) throws IOException {
+        final String compression = server.getCompression();
+        if (NONE.equals(compression)) {
+            return;
+        }
+        if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+        final HttpEntity entity = request.getEntity();
+        if (entity != null && entity.getContentEncoding() == null
+                && !request.containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && (GZIP.equals(compression) || DEFLATE.equals(compression))) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = GZIP.equals(compression)
+                    ? new GZIPOutputStream(compressed)
+                    : new DeflaterOutputStream(compressed)) {
+                entity.writeTo(out);
+            }
+            final ContentType contentType = entity.getContentType() == null
+                    ? null
+                    : ContentType.parseLenient(entity.getContentType());
+            request.setEntity(new ByteArrayEntity(compressed.toByteArray(), contentType, compression));
+        }
+    }
+
+    /**
+     * Replaces body of response in gzip or deflate by decompressing one.
+     * Content-Encoding and Content-Length headers are removed as body is not compressed anymore.
+     *
+     * @param response response
+     */
+    public static void decompressResponse(ClassicHttpResponse response) {
+        final HttpEntity entity = response.getEntity();
+        final Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (entity == null || entity.getContentLength() == 0
+                || contentEncoding == null || contentEncoding.getValue() == null) {
+            return;
+        }
+        final String encoding = contentEncoding.getValue().trim().toLowerCase(Locale.ROOT);
+        if (!GZIP.equals(encoding) && !X_GZIP.equals(encoding) && !DEFLATE.equals(encoding)) {
+            return;
+        }
+        log.debug("Response is compressed with {}", encoding);
+        response.setEntity(new DecompressingEntity(entity, X_GZIP.equals(encoding) ? GZIP : encoding));
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+        response.removeHeaders(HttpHeaders.CONTENT_MD5);
+    }
+
+    /**
+     * Body of response which is decompressed while it is read.
+     * Closing of entity closes wrapped one, so connection of pooled client is released.
+     */
+    private static final class DecompressingEntity extends HttpEntityWrapper {
+
+        private final String encoding;
+        private final AtomicBoolean counted = new AtomicBoolean();
+
+        private DecompressingEntity(HttpEntity entity, String encoding) {
+            super(entity);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            final CountingInputStream compressed = new CountingInputStream(super.getContent(), null);
+            final InputStream decompressed;
+            try {
+                decompressed = GZIP.equals(encoding)
+                        ? new GZIPInputStream(compressed)
+                        // deflate is accepted both in zlib wrapper and raw, as some servers send it
+                        : new DeflateInputStream(compressed);
+            } catch (IOException | RuntimeException e) {
+                // header of body is read here: if it's broken (e.g. body is partly read already)
+                // then wrapped stream is closed, otherwise connection is not released
+                Utils.closeQuietly(compressed);
+                throw e;
+            }
+            return new CountingInputStream(decompressed, decompressedBytes -> {
+                // repeatable body (e.g. of asynchronous request) can be read several times
+                if (counted.compareAndSet(false, true)) {
+                    Metrics.counter(COMPRESSED_BYTES, "encoding", encoding).increment(compressed.count);
+                    Metrics.counter(DECOMPRESSED_BYTES, "encoding", encoding).increment(decompressedBytes);
+                }
+            });
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(outStream);
+            }
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+    }
+
+    /**
+     * Counts bytes read from stream, passes amount of bytes to listener on close.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer onClose;
+        private long count;
+
+        private CountingInputStream(InputStream in, @Nullable LongConsumer onClose) {
+            super(in);
+            this.onClose = onClose;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = in.read();
+            if (result != -1) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            final int result = in.read(buffer, offset, length);
+            if (result != -1) {
+                count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long result = in.skip(n);
+            count += result;
+            return result;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (onClose != null) {
+                    onClose.accept(count);
+                }
+            }
+        }
+    }
+}
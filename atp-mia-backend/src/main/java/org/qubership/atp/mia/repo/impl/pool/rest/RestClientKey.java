@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.rest;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.qubership.atp.mia.model.environment.Server;
+
+import lombok.Value;
+
+/**
+ * Key of shared REST client: server (with all connection parameters), redirect policy, timeout profile
+ * and kind of client (classic or asynchronous, SOAP).
+ */
+@Value
+public class RestClientKey {
+
+    Server server;
+    boolean disableRedirect;
+    long timeoutMs;
+    boolean async;
+    boolean soap;
+
+    /**
+     * Whether key belongs to previous version of the same server,
+     * i.e. same system and server name, but changed connection parameters.
+     *
+     * @param actual actual key
+     * @return true if this key is outdated by {@code actual}
+     */
+    boolean isOutdatedBy(RestClientKey actual) {
+        return !server.equals(actual.server)
+                && Objects.equals(server.getName(), actual.server.getName())
+                && Objects.equals(systemId(server), systemId(actual.server));
+    }
+
+    private static UUID systemId(Server server) {
+        return server.getConnection() == null ? null : server.getConnection().getSystemId();
+    }
+
+    @Override
+    public String toString() {
+        return server.getName() + "@" + server.getProperty("url") + (disableRedirect ? " [no redirect]" : "")
+                + " [timeout " + timeoutMs + " ms]" + (async ? " [async]" : "") + (soap ? " [soap]" : "");
+    }
+}
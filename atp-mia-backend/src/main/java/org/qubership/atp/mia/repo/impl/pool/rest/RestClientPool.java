@@ -0,0 +1,425 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.rest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.auth.AuthScope;
+import org.apache.hc.client5.http.auth.CredentialsProvider;
+import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.LaxRedirectStrategy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.io.ModalCloseable;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.service.execution.RestClientService;
+import org.qubership.atp.mia.utils.CryptoUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of pooled REST clients shared between executions.
+ * One client (classic or asynchronous) with its own connection pool is kept per {@link RestClientKey},
+ * so keep-alive connections (and TLS sessions) are reused by all requests to the same server.
+ * SOAP clients are kept separately: they check certificates and host names by JVM defaults (unless
+ * trust of all certificates is switched on explicitly), don't follow redirects and don't authenticate
+ * by challenge, as SOAP request has Authorization header already.
+ * When connection parameters of server are changed, client of previous version is retired.
+ * Retired and expired clients are closed by periodic clean up not earlier than after grace period (close delay),
+ * so callers which have already got client keep using it, and only when all their connections are returned to pool
+ * or their requests are surely timed out.
+ * Clients don't keep cookies: client is shared between executions, projects and users,
+ * cookies are passed between requests explicitly via flow data (see saveCookie of REST command).
+ */
+@Service
+@Slf4j
+public class RestClientPool implements DisposableBean {
+
+    private static final long VALIDATE_AFTER_INACTIVITY_MS = 2000;
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final long closeDelay;
+    private final Cache<RestClientKey, PooledRestClient<?>> clients;
+    private final Queue<PooledRestClient<?>> retiredClients = new ConcurrentLinkedQueue<>();
+    @Value("${soap.ssl.trust.all:false}")
+    protected boolean soapTrustAll;
+
+    /**
+     * Creates registry of REST clients.
+     *
+     * @param maxTotal    max amount of connections of one client
+     * @param maxPerRoute max amount of connections of one client per route (host and port)
+     * @param closeDelay  seconds after last usage when client is closed,
+     *                    also period of closing idle and expired connections
+     */
+    public RestClientPool(@Value("${rest.pool.max.total:100}") int maxTotal,
+                          @Value("${rest.pool.max.per.route:20}") int maxPerRoute,
+                          @Value("${rest.close.delay:300}") long closeDelay) {
+        this.maxTotal = Math.max(1, maxTotal);
+        this.maxPerRoute = Math.max(1, Math.min(maxPerRoute, this.maxTotal));
+        this.closeDelay = closeDelay < 1 ? 300 : closeDelay;
+        this.clients = CacheBuilder.newBuilder()
+                .expireAfterAccess(this.closeDelay, TimeUnit.SECONDS)
+                .removalListener((RemovalListener<RestClientKey, PooledRestClient<?>>) notification -> {
+                    log.info("REST client released for {}, cause: {}", notification.getKey(), notification.getCause());
+                    notification.getValue().retire();
+                    retiredClients.add(notification.getValue());
+                })
+                .build();
+        registerMetrics();
+    }
+
+    /**
+     * Gets shared client for server, creates it if absent.
+     *
+     * @param server          server
+     * @param disableRedirect whether redirects should not be followed
+     * @param timeoutMs       connect and response timeout in milliseconds
+     * @return pooled client, it must not be closed by caller
+     */
+    public CloseableHttpClient getClient(Server server, boolean disableRedirect, long timeoutMs) {
+        return (CloseableHttpClient) getPooledClient(
+                new RestClientKey(server, disableRedirect, timeoutMs, false, false)).getClient();
+    }
+
+    /**
+     * Gets shared client for SOAP requests to server, creates it if absent.
+     *
+     * @param server    server
+     * @param timeoutMs connect and response timeout in milliseconds
+     * @return pooled client, it must not be closed by caller
+     */
+    public CloseableHttpClient getSoapClient(Server server, long timeoutMs) {
+        return (CloseableHttpClient) getPooledClient(new RestClientKey(server, true, timeoutMs, false, true))
+                .getClient();
+    }
+
+    /**
+     * Gets shared asynchronous client for server, creates and starts it if absent.
+     * HTTP/2 is negotiated via ALPN when server supports it, otherwise requests are sent
+     * over parallel HTTP/1.1 keep-alive connections of the pool.
+     *
+     * @param server          server
+     * @param disableRedirect whether redirects should not be followed
+     * @param timeoutMs       connect and response timeout in milliseconds
+     * @return pooled started client, it must not be closed by caller
+     */
+    public CloseableHttpAsyncClient getAsyncClient(Server server, boolean disableRedirect, long timeoutMs) {
+        return (CloseableHttpAsyncClient) getPooledClient(
+                new RestClientKey(server, disableRedirect, timeoutMs, true, false)).getClient();
+    }
+
+    private PooledRestClient<?> getPooledClient(RestClientKey key) {
+        final PooledRestClient<?> cached = clients.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // outdated clients are invalidated outside of loader, cache must not be modified while value is loaded
+        retireOutdatedClients(key);
+        try {
+            return clients.get(key, () -> key.isAsync() ? createAsyncClient(key) : createClient(key));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Gets statistics of connection pools of all registered clients.
+     *
+     * @return statistics per client
+     */
+    public Map<RestClientKey, PoolStats> getStatistics() {
+        final Map<RestClientKey, PoolStats> statistics = new LinkedHashMap<>();
+        clients.asMap().forEach((key, client) -> statistics.put(key, client.getConnectionManager().getTotalStats()));
+        return statistics;
+    }
+
+    /**
+     * Gets amount of registered clients.
+     *
+     * @return amount of clients
+     */
+    public long size() {
+        return clients.size();
+    }
+
+    /**
+     * Closes idle and expired connections, closes retired clients which are retired longer than grace period
+     * and don't have leased connections. Runs by Spring scheduler with period of close delay.
+     */
+    @Scheduled(initialDelayString = "${rest.close.delay:300}", fixedDelayString = "${rest.close.delay:300}",
+            timeUnit = TimeUnit.SECONDS)
+    public void cleanUp() {
+        try {
+            clients.cleanUp();
+            clients.asMap().values().forEach(client -> {
+                client.getConnectionManager().closeExpired();
+                client.getConnectionManager().closeIdle(TimeValue.ofSeconds(closeDelay));
+            });
+            retiredClients.removeIf(client -> client.closeIfUnused(closeDelay));
+            log.debug("Clean REST client pool finished. Clients: {}, retired: {}", clients.size(),
+                    retiredClients.size());
+        } catch (Exception e) {
+            log.error("Error during cleaning of REST client pool", e);
+        }
+    }
+
+    /**
+     * Retires all clients, they are closed by {@link #cleanUp()} after grace period.
+     */
+    public void resetCache() {
+        log.info("Cleaning REST client cache. Current size: {}", clients.size());
+        clients.invalidateAll();
+    }
+
+    /**
+     * Retires clients of servers with given connections, e.g. when connections are changed in environment.
+     * They are closed by {@link #cleanUp()} after grace period.
+     *
+     * @param connections outdated connections
+     */
+    public void retireClients(Collection<Connection> connections) {
+        clients.asMap().keySet().stream()
+                .filter(cached -> connections.contains(cached.getServer().getConnection()))
+                .forEach(outdated -> {
+                    log.info("Connection of server {} is changed in environment, retire REST client", outdated);
+                    clients.invalidate(outdated);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Closing REST client pool...");
+        clients.invalidateAll();
+        retiredClients.forEach(PooledRestClient::close);
+        retiredClients.clear();
+    }
+
+    private void retireOutdatedClients(RestClientKey key) {
+        clients.asMap().keySet().stream()
+                .filter(cached -> cached.isOutdatedBy(key))
+                .forEach(outdated -> {
+                    log.info("Connection parameters of server {} are changed, retire outdated REST client", outdated);
+                    clients.invalidate(outdated);
+                });
+    }
+
+    private PooledRestClient<CloseableHttpClient> createClient(RestClientKey key) {
+        log.debug("REST client is not present in cache. Creating a new one for {}", key);
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(sslSocketFactory(key))
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig(key))
+                .build();
+        // content encoding is negotiated per server by HttpCompression, the same way as for asynchronous client
+        final HttpClientBuilder httpClient = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(key))
+                .setDefaultCredentialsProvider(key.isSoap() ? null : credentialsProvider(key.getServer()))
+                .disableCookieManagement()
+                .disableContentCompression();
+        if (key.isDisableRedirect()) {
+            httpClient.disableRedirectHandling();
+        } else {
+            httpClient.setRedirectStrategy(new LaxRedirectStrategy());
+        }
+        return new PooledRestClient<>(httpClient.build(), connectionManager, key.getTimeoutMs());
+    }
+
+    private PooledRestClient<CloseableHttpAsyncClient> createAsyncClient(RestClientKey key) {
+        log.debug("Asynchronous REST client is not present in cache. Creating a new one for {}", key);
+        final PoolingAsyncClientConnectionManager connectionManager =
+                PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setTlsStrategy(ClientTlsStrategyBuilder.create()
+                                .setSslContext(RestClientService.getSslContext())
+                                .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                                .build())
+                        .setDefaultTlsConfig(TlsConfig.custom()
+                                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                                .build())
+                        .setMaxConnTotal(maxTotal)
+                        .setMaxConnPerRoute(maxPerRoute)
+                        .setDefaultConnectionConfig(connectionConfig(key))
+                        .build();
+        final HttpAsyncClientBuilder httpClient = HttpAsyncClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(key))
+                .setDefaultCredentialsProvider(credentialsProvider(key.getServer()))
+                .disableCookieManagement();
+        if (key.isDisableRedirect()) {
+            httpClient.disableRedirectHandling();
+        } else {
+            httpClient.setRedirectStrategy(new LaxRedirectStrategy());
+        }
+        final CloseableHttpAsyncClient client = httpClient.build();
+        client.start();
+        return new PooledRestClient<>(client, connectionManager, key.getTimeoutMs());
+    }
+
+    private SSLConnectionSocketFactory sslSocketFactory(RestClientKey key) {
+        if (key.isSoap() && !soapTrustAll) {
+            return SSLConnectionSocketFactoryBuilder.create().useSystemProperties().build();
+        }
+        return SSLConnectionSocketFactoryBuilder.create()
+                .setSslContext(RestClientService.getSslContext())
+                .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                .build();
+    }
+
+    private static ConnectionConfig connectionConfig(RestClientKey key) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(key.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static RequestConfig requestConfig(RestClientKey key) {
+        return RequestConfig.custom()
+                .setResponseTimeout(key.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Nullable
+    private static CredentialsProvider credentialsProvider(Server server) {
+        final String login = server.getProperty("login");
+        final String password = server.getProperty("password");
+        if (Strings.isNullOrEmpty(login) || Strings.isNullOrEmpty(password)) {
+            log.info("These fields from REST connection are empty: login, password.");
+            return null;
+        }
+        CredentialsStore provider = new BasicCredentialsProvider();
+        UsernamePasswordCredentials credentials =
+                new UsernamePasswordCredentials(login, CryptoUtils.decryptValue(password).toCharArray());
+        provider.setCredentials(new AuthScope(null, -1), credentials);
+        return provider;
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("mia.rest.pool.clients", this, RestClientPool::size)
+                .description("Amount of shared REST clients")
+                .register(Metrics.globalRegistry);
+        registerGauge("mia.rest.pool.leased", "Amount of REST connections in use", PoolStats::getLeased);
+        registerGauge("mia.rest.pool.available", "Amount of idle kept-alive REST connections",
+                PoolStats::getAvailable);
+        registerGauge("mia.rest.pool.pending", "Amount of REST requests waiting for connection",
+                PoolStats::getPending);
+    }
+
+    private void registerGauge(String name, String description, ToIntFunction<PoolStats> value) {
+        Gauge.builder(name, this, pool -> pool.getStatistics().values().stream().mapToInt(value).sum())
+                .description(description)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Client (classic or asynchronous) together with its connection manager.
+     */
+    private static final class PooledRestClient<T extends ModalCloseable> {
+
+        private final T client;
+        private final ConnPoolControl<HttpRoute> connectionManager;
+        private final long timeoutMs;
+        private volatile long retiredAt;
+
+        private PooledRestClient(T client, ConnPoolControl<HttpRoute> connectionManager, long timeoutMs) {
+            this.client = client;
+            this.connectionManager = connectionManager;
+            this.timeoutMs = timeoutMs;
+        }
+
+        private T getClient() {
+            return client;
+        }
+
+        private ConnPoolControl<HttpRoute> getConnectionManager() {
+            return connectionManager;
+        }
+
+        private void retire() {
+            retiredAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Closes client if it is retired longer than {@code gracePeriod} seconds and no connection is leased.
+         * Client with leased connections is closed anyway when it is retired longer than grace period
+         * plus execution timeout of client: request started within grace period is timed out by then.
+         *
+         * @param gracePeriod seconds after retirement when client still can be used by callers which got it before
+         * @return true if client is closed
+         */
+        private boolean closeIfUnused(long gracePeriod) {
+            final long retiredMs = System.currentTimeMillis() - retiredAt;
+            final long gracePeriodMs = TimeUnit.SECONDS.toMillis(gracePeriod);
+            if (retiredMs < gracePeriodMs
+                    || (connectionManager.getTotalStats().getLeased() > 0 && retiredMs < gracePeriodMs + timeoutMs)) {
+                return false;
+            }
+            close();
+            return true;
+        }
+
+        private void close() {
+            client.close(CloseMode.GRACEFUL);
+        }
+    }
+}
@@ -17,15 +17,24 @@
 
 package org.qubership.atp.mia.repo.impl.pool.ssh;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.qubership.atp.mia.model.configuration.CommonConfiguration;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.ConnectionProps;
 import org.qubership.atp.mia.model.environment.Server;
 import org.qubership.atp.mia.repo.impl.SshConnectionManager;
 import org.qubership.atp.mia.repo.impl.SshSession;
@@ -56,10 +65,20 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
      */
     private static final Map<Server, SshSession> connectionCache = new ConcurrentHashMap<>();
 
+    private static final long DRAIN_CHECK_INTERVAL_MS = 1000;
+    private static final int HEALTH_CHECK_THREADS = 2;
     public static int KEEP_ALIVE_MSG_INTERVAL;
     private final MiaContext miaContext;
-    private final ScheduledExecutorService cleanConnectionPool;
-    private final ScheduledExecutorService cleanTimeShiftPool;
+    private final SshTimeoutScheduler.Timeout cleanConnectionPool;
+    private final SshTimeoutScheduler.Timeout cleanTimeShiftPool;
+    private final SshTimeoutScheduler.Timeout healthMonitor;
+    /*
+     * Keepalive and reconnection may block up to connect timeout,
+     * so they are not executed on workers of scheduler shared by all SSH timeouts.
+     */
+    private final ExecutorService healthCheckExecutor;
+    private final Set<SshSession> sessionsInCheck = ConcurrentHashMap.newKeySet();
+    private final long idleLimitMs;
 
     /**
      * Creates connection pool for SSH connections.
@@ -77,11 +96,22 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
                 (int) Utils.parseLongValueOrDefault(keepAlive, 30000, "db.server.keep.alive");
         long cleanCacheTimeout = Utils.parseLongValueOrDefault(cleanTimeout, 180, "ssh.close.delay");
 
-        // Schedule cache cleanup every cleanCacheTimeout
-        cleanConnectionPool = Executors.newSingleThreadScheduledExecutor();
-        cleanConnectionPool.scheduleAtFixedRate(this::cleanConnectionCache, 0, cleanCacheTimeout, TimeUnit.SECONDS);
-        cleanTimeShiftPool = Executors.newSingleThreadScheduledExecutor();
-        cleanTimeShiftPool.scheduleAtFixedRate(this::cleanTimeShiftMap, 0, cleanCacheTimeout, TimeUnit.SECONDS);
+        // Schedule cache cleanup every cleanCacheTimeout on scheduler shared by all SSH operations
+        SshTimeoutScheduler scheduler = SshTimeoutScheduler.getInstance();
+        cleanConnectionPool = scheduler.scheduleWithFixedDelay(this::cleanConnectionCache, 0, cleanCacheTimeout,
+                TimeUnit.SECONDS);
+        cleanTimeShiftPool = scheduler.scheduleWithFixedDelay(this::cleanTimeShiftMap, 0, cleanCacheTimeout,
+                TimeUnit.SECONDS);
+        // Check health of cached sessions every keep alive interval
+        idleLimitMs = TimeUnit.SECONDS.toMillis(cleanCacheTimeout);
+        final AtomicInteger threadId = new AtomicInteger();
+        healthCheckExecutor = Executors.newFixedThreadPool(HEALTH_CHECK_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "mia_sshHealthCheck_" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthMonitor = scheduler.scheduleWithFixedDelay(this::checkSessionsHealth, KEEP_ALIVE_MSG_INTERVAL,
+                KEEP_ALIVE_MSG_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -152,11 +182,74 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
         SshSession session = connectionCache.get(server);
         if (session == null || !session.isSame(server, commonConfiguration)) {
             session = createSession(server, commonConfiguration);
-            Optional.ofNullable(connectionCache.put(server, session)).ifPresent(SshSession::disconnect);
+            Optional.ofNullable(connectionCache.put(server, session)).ifPresent(this::retireSession);
+            retireOutdatedSessions(server);
         }
         return session;
     }
 
+    /**
+     * Retires sessions cached for previous version of the same server (same system and server name,
+     * but changed connection parameters). Sessions of other servers are not touched.
+     *
+     * @param server actual server
+     */
+    private void retireOutdatedSessions(Server server) {
+        final UUID systemId = server.getConnection() == null ? null : server.getConnection().getSystemId();
+        connectionCache.keySet().stream()
+                .filter(cached -> !cached.equals(server)
+                        && Objects.equals(cached.getName(), server.getName())
+                        && cached.getConnection() != null
+                        && Objects.equals(cached.getConnection().getSystemId(), systemId))
+                .forEach(outdated -> {
+                    log.info("Connection parameters of server {} are changed, retire outdated session", outdated);
+                    Optional.ofNullable(connectionCache.remove(outdated)).ifPresent(this::retireSession);
+                });
+    }
+
+    /**
+     * Retires sessions of servers with given connections, e.g. when connections are changed in environment.
+     * Sessions with channels in use are disconnected after channels are closed.
+     *
+     * @param connections outdated connections
+     */
+    public void retireSessions(Collection<Connection> connections) {
+        connectionCache.keySet().stream()
+                .filter(cached -> connections.contains(cached.getConnection()))
+                .forEach(outdated -> {
+                    log.info("Connection of server {} is changed in environment, retire session", outdated);
+                    Optional.ofNullable(connectionCache.remove(outdated)).ifPresent(this::retireSession);
+                });
+    }
+
+    /**
+     * Disconnects session after all in-flight channels are closed.
+     * If channels are not closed within execution timeout of session then session is disconnected forcibly.
+     *
+     * @param session session to disconnect
+     */
+    private void retireSession(SshSession session) {
+        if (!session.isExecuting()) {
+            session.disconnect();
+            return;
+        }
+        log.info("Session {} has channels in use, it will be disconnected when they are finished",
+                session.getSessionId());
+        final ConnectionProps props = session.getProperties();
+        final long drainUntil = System.currentTimeMillis() + props.getTimeoutExecute() + props.getTimeoutConnect();
+        final AtomicReference<SshTimeoutScheduler.Timeout> drainTask = new AtomicReference<>();
+        drainTask.set(SshTimeoutScheduler.getInstance().scheduleWithFixedDelay(() -> {
+            if (!session.isExecuting()) {
+                session.disconnect();
+            } else if (System.currentTimeMillis() > drainUntil) {
+                session.forceDisconnect();
+            } else {
+                return;
+            }
+            Optional.ofNullable(drainTask.get()).ifPresent(SshTimeoutScheduler.Timeout::cancel);
+        }, DRAIN_CHECK_INTERVAL_MS, DRAIN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS));
+    }
+
     private Optional<SshSession> getTimeShiftSession(Server server) {
         if (isTimeShiftOn(server.getConnection().getSystemId())) {
             log.debug("Timeshift for server is on: [{}]", server);
@@ -173,16 +266,39 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
         return Optional.empty();
     }
 
+    /**
+     * Sends keepalive to idle sessions and reconnects dead sessions in background,
+     * so processes don't wait for timeout on half-open connections.
+     * Sessions are checked by dedicated threads, session which is still checked since previous call is skipped.
+     *
+     * @return future which is completed when all checks are finished
+     */
+    public CompletableFuture<Void> checkSessionsHealth() {
+        return CompletableFuture.allOf(Stream.concat(connectionCache.values().stream(),
+                        timeShiftStorage.values().stream())
+                .filter(sessionsInCheck::add)
+                .map(session -> CompletableFuture.runAsync(() -> {
+                    try {
+                        if (!session.keepAlive(idleLimitMs)) {
+                            log.warn("Health check of SSH session {}: session is down and can't be reconnected",
+                                    session.getSessionId());
+                        }
+                    } finally {
+                        sessionsInCheck.remove(session);
+                    }
+                }, healthCheckExecutor))
+                .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Invalidates all free and not executing connection in cache (soft clean).
      */
     public void cleanConnectionCache() {
-        Thread.currentThread().setName("mia_cleanConnectionCache");
         log.info("Try to clean SSH connection cache");
         synchronized (connectionCache) {
             int size = connectionCache.size();
-            boolean isDelete = connectionCache.entrySet().removeIf(e ->
-                    !e.getValue().isExecuting() && e.getValue().disconnect());
+            boolean isDelete = connectionCache.entrySet().removeIf(e -> !e.getValue().isExecuting()
+                    && (!e.getValue().isConnected() || e.getValue().disconnect()));
             log.info("{} connectionCache size before: {}, after: {}",
                     isDelete ? "Removed some entities in ts map" : "Nothing removed", size, connectionCache.size());
         }
@@ -192,7 +308,6 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
      * Removes all not time shifted entities (with false as a key).
      */
     public void cleanTimeShiftMap() {
-        Thread.currentThread().setName("mia_cleanTimeShiftMap");
         log.trace("Try to clean time shift map");
         synchronized (systemsForTimeShifting) {
             log.trace("Clean time shift map");
@@ -232,25 +347,16 @@ public class SshSessionPool implements ConnectionPool, DisposableBean {
         shutdown();
     }
 
+    /**
+     * Cancels cleaning and health check tasks of this pool and stops threads of health check.
+     * Shared scheduler itself is not stopped.
+     */
     public void shutdown() {
-        log.info("Shutting down SshSessionPool executors...");
-
-        shutdown(cleanConnectionPool, "cleanConnectionPool");
-        shutdown(cleanTimeShiftPool, "cleanTimeShiftPool");
-
-        log.info("Shutting down SshSessionPool executors completed.");
-    }
-
-    private void shutdown(ScheduledExecutorService scheduledService, String name) {
-        if (scheduledService != null && !scheduledService.isShutdown()) {
-            scheduledService.shutdownNow();
-            try {
-                if (!scheduledService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    log.warn("{} did not terminate in time", name);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+        log.info("Cancelling SshSessionPool cleaning tasks...");
+        cleanConnectionPool.cancel();
+        cleanTimeShiftPool.cancel();
+        healthMonitor.cancel();
+        healthCheckExecutor.shutdownNow();
+        log.info("Cancelling SshSessionPool cleaning tasks completed.");
     }
 }
@@ -0,0 +1,303 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.ssh;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed wheel timer shared by all SSH operations (execution timeouts, cleaning of pools).
+ * One tick thread moves over the wheel and hands expired tasks to small worker pool,
+ * so amount of threads doesn't depend on amount of scheduled timeouts.
+ * Precision of timeouts is one tick.
+ */
+@Slf4j
+public final class SshTimeoutScheduler {
+
+    private static final long DEFAULT_TICK_MS = 100;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int DEFAULT_WORKERS = 4;
+    private static final SshTimeoutScheduler INSTANCE =
+            new SshTimeoutScheduler("mia_ssh_timeout", DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE, DEFAULT_WORKERS);
+
+    static {
+        INSTANCE.registerMetrics();
+    }
+
+    private final String name;
+    private final long tickMs;
+    private final Queue<Timeout>[] wheel;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workers;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong firedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong activeCount = new AtomicLong();
+    private volatile boolean stopped;
+    private long startTime;
+    private long tick;
+
+    /**
+     * Creates scheduler.
+     *
+     * @param name      prefix of thread names
+     * @param tickMs    duration of one tick in milliseconds
+     * @param wheelSize amount of buckets in wheel
+     * @param workers   amount of threads to execute expired tasks
+     */
+    @SuppressWarnings("unchecked")
+    SshTimeoutScheduler(String name, long tickMs, int wheelSize, int workers) {
+        this.name = name;
+        this.tickMs = Math.max(1, tickMs);
+        this.wheel = new Queue[Math.max(1, wheelSize)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new LinkedList<>();
+        }
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory(name + "_worker_"));
+    }
+
+    /**
+     * Gets scheduler shared by all SSH operations.
+     *
+     * @return shared instance
+     */
+    public static SshTimeoutScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules one time task.
+     *
+     * @param task  task
+     * @param delay delay
+     * @param unit  unit of delay
+     * @return timeout which can be cancelled
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(new Timeout(task, unit.toMillis(delay), 0));
+    }
+
+    /**
+     * Schedules periodic task. Next execution is scheduled after end of previous one.
+     *
+     * @param task         task
+     * @param initialDelay delay before first execution
+     * @param period       period between executions
+     * @param unit         unit of delay and period
+     * @return timeout which can be cancelled to stop periodic execution
+     */
+    public Timeout scheduleWithFixedDelay(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return add(new Timeout(task, unit.toMillis(initialDelay), Math.max(1, unit.toMillis(period))));
+    }
+
+    /**
+     * Stops scheduler. Scheduled tasks are not executed anymore.
+     */
+    public void stop() {
+        stopped = true;
+        workers.shutdownNow();
+    }
+
+    public long getFiredCount() {
+        return firedCount.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    public long getActiveCount() {
+        return activeCount.get();
+    }
+
+    private Timeout add(Timeout timeout) {
+        if (stopped) {
+            throw new IllegalStateException("Scheduler " + name + " is stopped");
+        }
+        if (started.compareAndSet(false, true)) {
+            startTime = System.currentTimeMillis();
+            Thread tickThread = daemonThreadFactory(name + "_tick_").newThread(this::run);
+            tickThread.start();
+        }
+        activeCount.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (!stopped) {
+            final long deadline = startTime + (tick + 1) * tickMs;
+            final long sleep = deadline - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transferPending();
+            expire(wheel[(int) (tick % wheel.length)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            final long now = System.currentTimeMillis() - startTime;
+            final long expireTick = Math.max(tick, (now + timeout.delayMs + tickMs - 1) / tickMs);
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            wheel[(int) (expireTick % wheel.length)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        final Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            final Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                fire(timeout);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeout.periodic() && !timeout.state.compareAndSet(Timeout.ACTIVE, Timeout.EXPIRED)) {
+            return;
+        }
+        firedCount.incrementAndGet();
+        if (!timeout.periodic()) {
+            activeCount.decrementAndGet();
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Throwable e) {
+                    log.error("Error during execution of scheduled task in {}", name, e);
+                } finally {
+                    if (timeout.periodic() && !timeout.isCancelled() && !stopped) {
+                        timeout.delayMs = timeout.periodMs;
+                        pending.add(timeout);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Can't execute scheduled task in {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void registerMetrics() {
+        FunctionCounter.builder("mia.ssh.timeouts.fired", this, SshTimeoutScheduler::getFiredCount)
+                .description("Amount of fired SSH timeouts and scheduled tasks")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("mia.ssh.timeouts.cancelled", this, SshTimeoutScheduler::getCancelledCount)
+                .description("Amount of cancelled SSH timeouts and scheduled tasks")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("mia.ssh.timeouts.active", this, SshTimeoutScheduler::getActiveCount)
+                .description("Amount of scheduled and not yet fired or cancelled SSH timeouts")
+                .register(Metrics.globalRegistry);
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Handle of scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int ACTIVE = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Runnable task;
+        private final long periodMs;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        private volatile long delayMs;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long delayMs, long periodMs) {
+            this.task = task;
+            this.delayMs = Math.max(0, delayMs);
+            this.periodMs = periodMs;
+        }
+
+        /**
+         * Cancels task. Task which is being executed is not interrupted.
+         *
+         * @return true if task was cancelled, false if it is already expired or cancelled
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(ACTIVE, CANCELLED)) {
+                cancelledCount.incrementAndGet();
+                activeCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Whether one time task is fired.
+         *
+         * @return true if task is passed to execution
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean periodic() {
+            return periodMs > 0;
+        }
+    }
+}
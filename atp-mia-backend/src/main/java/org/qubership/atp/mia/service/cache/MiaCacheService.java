@@ -17,11 +17,14 @@
 
 package org.qubership.atp.mia.service.cache;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.qubership.atp.mia.model.CacheKeys;
+import org.qubership.atp.mia.model.environment.Environment;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -52,13 +55,7 @@ public interface MiaCacheService {
                     cache.clear();
                     continue;
                 }
-                Set<Object> keySet = new HashSet<>();
-                if (cache instanceof HazelcastCache hazelcastCache) {
-                    keySet = hazelcastCache.getNativeCache().keySet();
-                } else if (cache instanceof CaffeineCache caffeineCache) {
-                    keySet = caffeineCache.getNativeCache().asMap().keySet();
-                }
-                for (Object key : keySet) {
+                for (Object key : keySet(cache)) {
                     if (key.toString().contains(projectId.toString())) {
                         cache.evict(key);
                     }
@@ -67,6 +64,32 @@ public interface MiaCacheService {
         }
     }
 
+    /**
+     * Gets environments of project which are cached now, e.g. to compare them with updated ones.
+     *
+     * @param cacheManager cache manager
+     * @param projectId    project ID
+     * @return cached environments, the same environment can be present several times
+     */
+    default List<Environment> getCachedEnvironments(CacheManager cacheManager, UUID projectId) {
+        final List<Environment> environments = new ArrayList<>();
+        for (String cacheName : List.of(CacheKeys.Constants.ENVIRONMENTSFULL_KEY,
+                CacheKeys.Constants.ENVIRONMENTS_BY_NAME_KEY)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                for (Object key : keySet(cache)) {
+                    if (key.toString().contains(projectId.toString())) {
+                        Environment environment = cache.get(key, Environment.class);
+                        if (environment != null) {
+                            environments.add(environment);
+                        }
+                    }
+                }
+            }
+        }
+        return environments;
+    }
+
     /**
      * Clear project configuration cache by projectId.
      *
@@ -78,4 +101,14 @@ public interface MiaCacheService {
             cache.evictIfPresent(projectId);
         }
     }
+
+    private static Set<Object> keySet(Cache cache) {
+        Set<Object> keySet = new HashSet<>();
+        if (cache instanceof HazelcastCache hazelcastCache) {
+            keySet = hazelcastCache.getNativeCache().keySet();
+        } else if (cache instanceof CaffeineCache caffeineCache) {
+            keySet = caffeineCache.getNativeCache().asMap().keySet();
+        }
+        return keySet;
+    }
 }
@@ -20,15 +20,44 @@ package org.qubership.atp.mia.service.execution;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 public class MiaExecutionThreadPool {
 
-    private final ExecutorService executionThreadPool = Executors.newCachedThreadPool(
-            new ThreadFactoryBuilder().setNameFormat("exec-comp-proc-%d").build());
+    private static final String THREAD_NAME_PREFIX = "exec-comp-proc-";
+
+    private final ExecutorService executionThreadPool;
+
+    /**
+     * Creates pool for executions.
+     * When virtual threads are turned on, every execution (SSH, SQL, REST and the rest of process) is run
+     * on its own virtual thread, so executions which sleep or wait on locks and futures, e.g. between polling
+     * attempts or for asynchronous REST responses, don't occupy platform threads.
+     * Carrier thread is still pinned on Java 21 while virtual thread blocks inside a monitor:
+     * JSch reads output of channel from piped stream waiting inside {@code synchronized}, and writes to
+     * session are synchronized as well, so execution which waits for remote SSH output keeps its carrier.
+     * The same is true for JDBC drivers which block in synchronized code.
+     * Pinning can be traced by {@code -Djdk.tracePinnedThreads=short}.
+     *
+     * @param virtualThreadsEnabled whether virtual threads should be used
+     */
+    public MiaExecutionThreadPool(
+            @Value("${execution.virtual.threads.enabled:false}") boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled) {
+            log.info("Executions are run on virtual threads");
+            executionThreadPool = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+        } else {
+            executionThreadPool = Executors.newCachedThreadPool(
+                    new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_PREFIX + "%d").build());
+        }
+    }
 
     public void execute(Runnable execution) {
         executionThreadPool.execute(execution);
@@ -0,0 +1,213 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.openjdk.nashorn.api.scripting.ClassFilter;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes post scripts of REST commands.
+ * Script engines are expensive to create, so they are kept in pool and reused.
+ * Each engine keeps cache of compiled scripts (keyed by hash of script), every execution gets own bindings,
+ * so variables of one execution are not visible in another one.
+ * Script can't be interrupted, so timeout only abandons it: caller gets error, but script keeps running
+ * in its thread and holds its place in pool until it finishes, its engine is dropped afterwards.
+ * Amount of script threads is thereby limited by size of pool.
+ */
+@Service
+@Slf4j
+public class PostScriptService implements DisposableBean {
+
+    // Combined security defense
+    private static final String[] ENGINE_ARGS = {"--no-java", "--no-syntax-extensions"};
+    private final NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+    private final Queue<PooledEngine> idleEngines = new ConcurrentLinkedQueue<>();
+    private final Semaphore engines;
+    private final int cacheSize;
+    private final long timeoutSeconds;
+    private final ExecutorService executor;
+
+    /**
+     * Creates service.
+     *
+     * @param poolSize       max amount of engines, i.e. scripts executed at the same time
+     * @param cacheSize      max amount of compiled scripts kept by one engine
+     * @param timeoutSeconds timeout of script execution in seconds
+     */
+    public PostScriptService(@Value("${rest.script.pool.size:8}") int poolSize,
+                             @Value("${rest.script.cache.size:100}") int cacheSize,
+                             @Value("${rest.script.timeout:60}") long timeoutSeconds) {
+        this.engines = new Semaphore(Math.max(1, poolSize), true);
+        this.cacheSize = Math.max(1, cacheSize);
+        this.timeoutSeconds = Math.max(1, timeoutSeconds);
+        final AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mia_postScript_" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executes script.
+     *
+     * @param script    script
+     * @param variables variables available in script
+     * @return bindings after execution, i.e. variables of script
+     * @throws ScriptException in case of error in script, timeout or if there is no free engine during timeout
+     */
+    public Bindings execute(String script, Map<String, Object> variables) throws ScriptException {
+        try {
+            if (!engines.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new ScriptException("No free script engine during " + timeoutSeconds + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for script engine");
+        }
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        final Future<Bindings> result;
+        try {
+            final PooledEngine engine = borrowEngine();
+            // engine and permit are returned by task itself, as script can't be stopped before it finishes
+            result = executor.submit(() -> {
+                try {
+                    return engine.execute(script, variables);
+                } finally {
+                    if (!abandoned.get()) {
+                        idleEngines.offer(engine);
+                    }
+                    engines.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            engines.release();
+            throw e;
+        }
+        try {
+            return result.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // task isn't cancelled: interrupt doesn't stop script,
+            // and task cancelled before start would never release its place in pool
+            abandoned.set(true);
+            log.warn("Post script execution exceeded {} seconds and is abandoned", timeoutSeconds);
+            throw new ScriptException("Script execution exceeded " + timeoutSeconds + " seconds");
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted during script execution");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Amount of engines which are created and not used now.
+     *
+     * @return amount of idle engines
+     */
+    public int idleEngines() {
+        return idleEngines.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        idleEngines.clear();
+    }
+
+    private PooledEngine borrowEngine() {
+        final PooledEngine engine = idleEngines.poll();
+        if (engine != null) {
+            return engine;
+        }
+        // ClassFilter blocks any access to Java classes
+        final ClassFilter strictFilter = (className) -> {
+            log.debug("Blocked access to Java class: {}", className);
+            return false;
+        };
+        log.debug("Creating script engine for post scripts");
+        return new PooledEngine(factory.getScriptEngine(ENGINE_ARGS, null, strictFilter), cacheSize);
+    }
+
+    private static ScriptException unwrap(Throwable cause) {
+        if (cause instanceof ScriptException) {
+            return (ScriptException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ScriptException(cause instanceof Exception ? (Exception) cause : new Exception(cause));
+    }
+
+    private static final class PooledEngine {
+
+        private final ScriptEngine engine;
+        private final Cache<String, CompiledScript> compiledScripts;
+
+        private PooledEngine(ScriptEngine engine, int cacheSize) {
+            this.engine = engine;
+            this.compiledScripts = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        }
+
+        private Bindings execute(String script, Map<String, Object> variables) throws ScriptException {
+            final String hash = Hashing.sha256().hashString(script, StandardCharsets.UTF_8).toString();
+            CompiledScript compiledScript = compiledScripts.getIfPresent(hash);
+            if (compiledScript == null) {
+                // engine is used by one thread at a time, so script is compiled once
+                compiledScript = ((Compilable) engine).compile(script);
+                compiledScripts.put(hash, compiledScript);
+            }
+            final Bindings bindings = engine.createBindings();
+            bindings.putAll(variables);
+            compiledScript.eval(bindings);
+            return bindings;
+        }
+    }
+}
@@ -101,6 +101,7 @@ public class ProcessService {
     private final MetricsAggregateService metricsService;
     private final RecordingSessionsService recordingSessionsService;
     private final GridFsService gridFsService;
+    private final RequestLogWriter requestLogWriter;
     private final ProcessStatusRepository processStatusRepository;
     private final String fileDownloadPrefix;
     private final String miaEntityUrlFormat;
@@ -206,6 +207,8 @@ public class ProcessService {
                 miaEntityUrlFormat,
                 miaContext.getProjectId(),
                 process.getId()));
+        // files of step should be written completely before they are added to POT and uploaded to GridFS
+        requestLogWriter.await(response);
         recordingSessionsService.addExecutionStep(response);
         gridFsService.saveLogResponseAfterExecution(response);
         response.setDuration(Utils.calculateDuration(startDate));
@@ -280,6 +283,7 @@ public class ProcessService {
         //Check logs for markers
         processStatusRepository.parseLogMarkers(executionResponse.getProcessStatus(), command);
         processStatusRepository.parseLogStatus(executionResponse);
+        processStatusRepository.parseExitStatusAndUpdateStatus(executionResponse);
         //Validation and check
         List<Validation> validations = processSettings.getValidations();
         if (validations != null) {
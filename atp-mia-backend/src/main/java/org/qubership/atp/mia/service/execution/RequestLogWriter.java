@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service.execution;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.qubership.atp.mia.model.impl.CommandResponse;
+import org.qubership.atp.mia.model.impl.ExecutionResponse;
+import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.utils.FileUtils;
+import org.qubership.atp.mia.utils.Utils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes full information about REST and SOAP requests and responses (FULL_INFO json files) in background,
+ * so execution thread does not wait for disk.
+ * Records are taken through bounded queue; when queue is full, record is written by caller thread.
+ * Values longer than limit (e.g. bodies) are truncated. Each record has its own future,
+ * it is kept in {@link CommandOutput} of file; {@link #await(ExecutionResponse)} waits only for records
+ * of execution before its files are read, e.g. uploaded to GridFS or added to POT.
+ */
+@Service
+@Slf4j
+public class RequestLogWriter implements DisposableBean {
+
+    private static final long AWAIT_TIMEOUT_SECONDS = 60;
+    private final ThreadPoolExecutor executor;
+    private final int bodyMaxLength;
+
+    /**
+     * Creates writer.
+     *
+     * @param queueSize     max amount of records waiting for writing
+     * @param bodyMaxLength max length of value of record, non-positive means no limit
+     */
+    public RequestLogWriter(@Value("${request.log.queue.size:1000}") int queueSize,
+                            @Value("${request.log.body.max.length:1048576}") int bodyMaxLength) {
+        this.bodyMaxLength = bodyMaxLength;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "mia_requestLog");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Schedules writing of record as json into file.
+     * Record is copied, so it can be changed by caller after this method.
+     *
+     * @param record record
+     * @param file   file
+     * @return future which is completed when record is written
+     */
+    public CompletableFuture<Void> write(Map<String, String> record, File file) {
+        final Map<String, String> copy = new LinkedHashMap<>();
+        record.forEach((key, value) -> copy.put(key, truncate(value)));
+        final Runnable task = () -> FileUtils.logIntoFile(Utils.GSON.toJson(copy), file);
+        if (executor.isShutdown()) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(task, executor).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Can't write request log to file {}", file, e);
+            }
+        });
+    }
+
+    /**
+     * Waits until records written for outputs of execution (prerequisites and command) are written.
+     *
+     * @param response execution response
+     */
+    public void await(ExecutionResponse response) {
+        final List<CommandOutput> outputs = new ArrayList<>();
+        if (response.getPrerequisites() != null) {
+            response.getPrerequisites().forEach(prerequisite -> addOutputs(prerequisite, outputs));
+        }
+        addOutputs(response.getCommandResponse(), outputs);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(AWAIT_TIMEOUT_SECONDS);
+        for (CommandOutput output : outputs) {
+            if (output.getWritten() == null) {
+                continue;
+            }
+            try {
+                output.getWritten().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // error is logged by writer
+            } catch (TimeoutException e) {
+                log.warn("Request log {} is not written during {} seconds", output.getInternalPathToFile(),
+                        AWAIT_TIMEOUT_SECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Request log records are not written during {} seconds", AWAIT_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void addOutputs(CommandResponse commandResponse, List<CommandOutput> outputs) {
+        if (commandResponse != null && commandResponse.getCommandOutputs() != null) {
+            outputs.addAll(commandResponse.getCommandOutputs());
+        }
+    }
+
+    private String truncate(String value) {
+        if (value == null || bodyMaxLength <= 0 || value.length() <= bodyMaxLength) {
+            return value;
+        }
+        return value.substring(0, bodyMaxLength) + "... [truncated, " + value.length() + " characters in total]";
+    }
+}
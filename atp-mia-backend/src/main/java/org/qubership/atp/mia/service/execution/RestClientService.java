@@ -19,18 +19,28 @@ package org.qubership.atp.mia.service.execution;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,24 +49,24 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.hc.client5.http.auth.AuthScope;
-import org.apache.hc.client5.http.auth.CredentialsStore;
-import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.async.methods.AbstractBinResponseConsumer;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
-import org.apache.hc.client5.http.impl.LaxRedirectStrategy;
-import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.qubership.atp.mia.exceptions.internal.ssl.SslAlgorithmNotPresentException;
 import org.qubership.atp.mia.exceptions.internal.ssl.SslInitException;
 import org.qubership.atp.mia.exceptions.rest.RestExceptionDuringExecution;
@@ -67,8 +77,9 @@ import org.qubership.atp.mia.exceptions.rest.RestIncorrectUrlException;
 import org.qubership.atp.mia.exceptions.rest.RestResultWriteToFileException;
 import org.qubership.atp.mia.model.environment.Server;
 import org.qubership.atp.mia.model.impl.executable.Rest;
+import org.qubership.atp.mia.repo.impl.pool.rest.HttpCompression;
+import org.qubership.atp.mia.repo.impl.pool.rest.RestClientPool;
 import org.qubership.atp.mia.service.MiaContext;
-import org.qubership.atp.mia.utils.CryptoUtils;
 import org.qubership.atp.mia.utils.Utils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -102,6 +113,7 @@ public class RestClientService {
                     Pattern.CASE_INSENSITIVE);
 
     private final MiaContext miaContext;
+    private final RestClientPool restClientPool;
 
     /**
      * Set SSL Context.
@@ -135,48 +147,37 @@ public class RestClientService {
     }
 
     /**
-     * Prepares rest client.
+     * Prepares rest client. Client is shared by all requests to the same server with the same redirect policy,
+     * so keep-alive connections are reused. Client must not be closed by caller.
      */
     public HttpClient prepareRestClient(Server server, boolean disableRedirect,
                                         Map<String, String> connectionInfo) {
-        final String login = server.getProperty("login");
-        final String password = server.getProperty("password");
-        connectionInfo.put("user", login);
-
-        // Create an SSLConnectionSocketFactory using the SSLContext
-        SSLConnectionSocketFactory sslSocketFactory = SSLConnectionSocketFactoryBuilder.create()
-                .setSslContext(getSslContext())
-                .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
-                .build();
-
-        // Create a ConnectionManager and set the SSL socket factory on it
-        PoolingHttpClientConnectionManager connectionManager =
-                PoolingHttpClientConnectionManagerBuilder.create()
-                        .setSSLSocketFactory(sslSocketFactory)
-                        .build();
-
-        HttpClientBuilder httpClient = HttpClientBuilder.create()
-                .setConnectionManager(connectionManager)
-                .setConnectionManagerShared(true) // Important for resource management
-                .setDefaultRequestConfig(org.apache.hc.client5.http.config.RequestConfig.custom()
-                        .setResponseTimeout((int) TimeUnit.MINUTES.toMillis(executionTimeout), TimeUnit.MILLISECONDS)
-                        .setConnectTimeout((int) TimeUnit.MINUTES.toMillis(executionTimeout), TimeUnit.MILLISECONDS)
-                        .build());
-        if (Strings.isNullOrEmpty(login) || Strings.isNullOrEmpty(password)) {
-            log.info("These fields from REST connection are empty: login, password.");
-        } else {
-            CredentialsStore provider = new BasicCredentialsProvider();
-            UsernamePasswordCredentials credentials =
-                    new UsernamePasswordCredentials(login, CryptoUtils.decryptValue(password).toCharArray());
-            provider.setCredentials(new AuthScope(null, -1), credentials);
-            httpClient.setDefaultCredentialsProvider(provider);
-        }
-        if (disableRedirect) {
-            httpClient.disableRedirectHandling();
-        } else {
-            httpClient.setRedirectStrategy(new LaxRedirectStrategy());
-        }
-        return httpClient.build();
+        connectionInfo.put("user", server.getProperty("login"));
+        return restClientPool.getClient(server, disableRedirect, TimeUnit.MINUTES.toMillis(executionTimeout));
+    }
+
+    /**
+     * Prepares shared client for SOAP requests. Unlike rest client, it doesn't follow redirects
+     * and checks certificates by JVM defaults, see {@link RestClientPool}. Client must not be closed by caller.
+     */
+    public HttpClient prepareSoapClient(Server server) {
+        return restClientPool.getSoapClient(server, TimeUnit.MINUTES.toMillis(executionTimeout));
+    }
+
+    /**
+     * Prepares shared asynchronous rest client.
+     */
+    public CloseableHttpAsyncClient prepareAsyncRestClient(Server server, boolean disableRedirect,
+                                                           Map<String, String> connectionInfo) {
+        connectionInfo.put("user", server.getProperty("login"));
+        return restClientPool.getAsyncClient(server, disableRedirect, TimeUnit.MINUTES.toMillis(executionTimeout));
+    }
+
+    /**
+     * Closes shared rest clients, e.g. after change of environment.
+     */
+    public void resetCache() {
+        restClientPool.resetCache();
     }
 
     /**
@@ -229,6 +230,11 @@ public class RestClientService {
             base.setEntity(bodyEntity);
             log.debug("REST body: {}", bodyEntity);
         }
+        try {
+            HttpCompression.prepareRequest(request, server);
+        } catch (IOException e) {
+            throw new RestExceptionDuringExecution(e);
+        }
         log.debug("REST request: {}", request);
         return request;
     }
@@ -242,6 +248,7 @@ public class RestClientService {
             log.info("Executing REST request: {}", request);
             httpResponse = (ClassicHttpResponse) httpClient.execute(request);
             log.debug("REST executed with response: {}", httpResponse);
+            HttpCompression.decompressResponse(httpResponse);
         } catch (SocketTimeoutException ste) {
             try {
                 throw new RestExecutionTimeOutException(executionTimeout, "minute(s)", request.getUri().toString());
@@ -254,6 +261,105 @@ public class RestClientService {
         return httpResponse;
     }
 
+    /**
+     * Executes rest request asynchronously.
+     * Body of request is sent from memory, body of response is written to temporary file while it is received
+     * and returned as repeatable entity of classic response, so it is processed the same way as response
+     * of synchronous request while responses which wait for processing don't occupy heap.
+     * Compressed body is kept in file as is and decompressed while it is read.
+     * Temporary file is deleted when entity of response is closed.
+     * Cancellation of returned future cancels the exchange as well.
+     *
+     * @param httpClient asynchronous client
+     * @param request    prepared request
+     * @return future of response
+     */
+    public CompletableFuture<ClassicHttpResponse> executeRestRequestAsync(CloseableHttpAsyncClient httpClient,
+                                                                          HttpUriRequestBase request) {
+        final CompletableFuture<ClassicHttpResponse> result = new CompletableFuture<>();
+        final SimpleHttpRequest asyncRequest;
+        try {
+            final SimpleRequestBuilder builder = SimpleRequestBuilder.create(request.getMethod())
+                    .setUri(request.getUri());
+            for (Header header : request.getHeaders()) {
+                builder.addHeader(header);
+            }
+            final HttpEntity entity = request.getEntity();
+            if (entity != null) {
+                builder.setBody(EntityUtils.toByteArray(entity), ContentType.parseLenient(entity.getContentType()));
+                if (entity.getContentEncoding() != null && !request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                    builder.addHeader(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding());
+                }
+            }
+            asyncRequest = builder.build();
+        } catch (URISyntaxException e) {
+            throw new RestIncorrectUrlException();
+        } catch (IOException e) {
+            throw new RestExceptionDuringExecution(e);
+        }
+        log.info("Executing REST request asynchronously: {}", request);
+        final Future<ClassicHttpResponse> execution = httpClient.execute(SimpleRequestProducer.create(asyncRequest),
+                new FileResponseConsumer(), new FutureCallback<>() {
+            @Override
+            public void completed(ClassicHttpResponse response) {
+                log.debug("REST executed with response: {}", response);
+                HttpCompression.decompressResponse(response);
+                if (!result.complete(response)) {
+                    // future is cancelled meanwhile, nobody is going to read body
+                    Utils.closeQuietly(response);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for response of asynchronous rest request.
+     *
+     * @param response future of response
+     * @param request  request
+     * @return response
+     */
+    public ClassicHttpResponse awaitRestResponse(CompletableFuture<ClassicHttpResponse> response,
+                                                 HttpUriRequestBase request) {
+        try {
+            // client has own connect and response timeouts, this one is a guard against stuck future only
+            return response.get(2 * executionTimeout, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.cancel(true);
+            throw new RestExceptionDuringExecution(new InterruptedIOException(e.getMessage()));
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new RestExecutionTimeOutException(executionTimeout, "minute(s)", request.getRequestUri());
+        } catch (CancellationException e) {
+            throw new RestExceptionDuringExecution(new InterruptedIOException("REST request is cancelled"));
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SocketTimeoutException) {
+                throw new RestExecutionTimeOutException(executionTimeout, "minute(s)", request.getRequestUri());
+            }
+            throw new RestExceptionDuringExecution(cause instanceof IOException
+                    ? (IOException) cause
+                    : new IOException(cause));
+        }
+    }
+
     /**
      * Writes rest response to file.
      */
@@ -328,4 +434,98 @@ public class RestClientService {
                     : ContentType.create(lastMimeTypeString, StandardCharsets.ISO_8859_1);
         }
     }
+
+    /**
+     * Writes body of response to temporary file while it is received.
+     */
+    private static final class FileResponseConsumer extends AbstractBinResponseConsumer<ClassicHttpResponse> {
+
+        private BasicClassicHttpResponse response;
+        private ContentType contentType;
+        private File file;
+        private FileChannel channel;
+        private boolean built;
+
+        @Override
+        protected void start(HttpResponse response, ContentType contentType) {
+            this.response = new BasicClassicHttpResponse(response.getCode(), response.getReasonPhrase());
+            this.response.setVersion(response.getVersion());
+            this.response.setHeaders(response.getHeaders());
+            this.contentType = contentType;
+        }
+
+        @Override
+        protected int capacityIncrement() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        protected void data(ByteBuffer src, boolean endOfStream) throws IOException {
+            if (src.hasRemaining() && channel == null) {
+                file = Files.createTempFile("mia_rest_", ".tmp").toFile();
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+            }
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+            if (endOfStream && channel != null) {
+                channel.close();
+            }
+        }
+
+        @Override
+        protected ClassicHttpResponse buildResult() {
+            if (file != null) {
+                response.setEntity(new TemporaryFileEntity(file, contentType));
+            }
+            built = true;
+            return response;
+        }
+
+        @Override
+        public void releaseResources() {
+            Utils.closeQuietly(channel);
+            if (!built && file != null && !file.delete()) {
+                log.warn("Can not delete temporary file {}", file);
+            }
+        }
+    }
+
+    /**
+     * Repeatable entity with body in temporary file, the file is deleted on close.
+     */
+    private static final class TemporaryFileEntity extends AbstractHttpEntity {
+
+        private final File file;
+
+        private TemporaryFileEntity(File file, ContentType contentType) {
+            super(contentType, null);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return Files.newInputStream(file.toPath());
+        }
+
+        @Override
+        public long getContentLength() {
+            return file.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
 }
@@ -28,10 +28,12 @@ import org.qubership.atp.mia.exceptions.rest.RestNotFoundException;
 import org.qubership.atp.mia.exceptions.rest.UnsupportedRestMethodException;
 import org.qubership.atp.mia.model.impl.CommandResponse;
 import org.qubership.atp.mia.model.impl.executable.Command;
+import org.qubership.atp.mia.repo.impl.PendingRestRequest;
 import org.qubership.atp.mia.repo.impl.RestRepository;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.file.MiaFileService;
 import org.qubership.atp.mia.utils.FileUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.Strings;
@@ -46,12 +48,53 @@ public class RestExecutionHelperService {
     private final RestRepository restRepository;
     private final MiaContext miaContext;
     private final MiaFileService miaFileService;
+    @Value("${rest.async.enabled:false}")
+    protected boolean asyncEnabled;
+    @Value("${rest.async.max.in.flight:10}")
+    protected int maxInFlight;
 
     /**
      * Sends rest request.
      */
     @AtpJaegerLog()
     public CommandResponse sendRestRequest(Command command) {
+        return restRepository.sendRestRequest(readRestFiles(command));
+    }
+
+    /**
+     * Sends rest request asynchronously. Response should be awaited by {@link #awaitRestResponse(PendingRestRequest)}
+     * in the same thread, usually via {@link RestRequestWindow}.
+     *
+     * @param command command
+     * @return sent request with future of response
+     */
+    public PendingRestRequest sendRestRequestAsync(Command command) {
+        return restRepository.sendRestRequestAsync(readRestFiles(command));
+    }
+
+    /**
+     * Waits for response of asynchronous rest request and processes it.
+     *
+     * @param pending sent request
+     * @return command response
+     */
+    public CommandResponse awaitRestResponse(PendingRestRequest pending) {
+        return restRepository.awaitRestResponse(pending);
+    }
+
+    /**
+     * Gets max amount of rest requests which are executed asynchronously at the same time.
+     *
+     * @return size of window, 0 if asynchronous execution is disabled
+     */
+    public int getMaxInFlight() {
+        return asyncEnabled ? Math.max(1, maxInFlight) : 0;
+    }
+
+    /**
+     * Fills rest of command from rest file or body file, if any.
+     */
+    private Command readRestFiles(Command command) {
         if (command.getRest() == null) {
             throw new RestNotFoundException();
         }
@@ -87,7 +130,7 @@ public class RestExecutionHelperService {
             String bodyFileName = miaContext.evaluate(command.getRest().getBodyFile());
             command.getRest().setBody(miaContext.evaluate(readRestFile(bodyFileName)));
         }
-        return restRepository.sendRestRequest(command);
+        return command;
     }
 
     private String readRestFile(String fileName) {
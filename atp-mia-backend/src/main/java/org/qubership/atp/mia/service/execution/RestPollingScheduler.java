@@ -0,0 +1,185 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.qubership.atp.mia.utils.Utils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Repeats asynchronous attempts until condition holds or max amount of attempts is reached.
+ * Every attempt is scheduled task which only starts asynchronous operation, the next attempt is scheduled
+ * from completion callback of previous one, so no thread of scheduler is occupied while waiting between attempts.
+ * Caller still may wait for returned future.
+ * Only result of the last attempt is kept: results of previous attempts, as well as result of attempt which
+ * completes after polling is failed or cancelled, are closed if they are {@link AutoCloseable}.
+ */
+@Service
+@Slf4j
+public class RestPollingScheduler implements DisposableBean {
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates scheduler.
+     */
+    public RestPollingScheduler() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mia_restPolling");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts polling: the first attempt is performed after delay.
+     * Future of polling is completed exceptionally if any attempt fails; cancel of future stops polling.
+     *
+     * @param attempt     starts attempt
+     * @param condition   condition to check on result of attempt
+     * @param describe    description of result for history of attempts
+     * @param maxAttempts max amount of attempts
+     * @param delayMs     delay before every attempt in milliseconds
+     * @param <T>         type of result of attempt
+     * @return future of polling result
+     */
+    public <T> CompletableFuture<Polling<T>> poll(Supplier<CompletableFuture<T>> attempt, Predicate<T> condition,
+                                                  Function<T, String> describe, int maxAttempts, long delayMs) {
+        final Polling<T> polling = new Polling<>(Math.max(1, maxAttempts));
+        final CompletableFuture<Polling<T>> future = new CompletableFuture<>();
+        scheduleAttempt(polling, future, attempt, condition, describe, Math.max(0, delayMs));
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                polling.discardResult();
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> void scheduleAttempt(Polling<T> polling, CompletableFuture<Polling<T>> future,
+                                     Supplier<CompletableFuture<T>> attempt, Predicate<T> condition,
+                                     Function<T, String> describe, long delayMs) {
+        try {
+            scheduler.schedule(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                final CompletableFuture<T> attemptResult;
+                try {
+                    attemptResult = attempt.get();
+                } catch (RuntimeException e) {
+                    polling.addHistory("failed to start: " + e.getMessage());
+                    future.completeExceptionally(e);
+                    return;
+                }
+                attemptResult.whenComplete((result, error) -> {
+                    if (error != null) {
+                        polling.addHistory("failed: " + error.getMessage());
+                        future.completeExceptionally(error);
+                        return;
+                    }
+                    if (future.isDone()) {
+                        close(result);
+                        return;
+                    }
+                    final boolean conditionMet;
+                    try {
+                        conditionMet = condition.test(result);
+                        polling.complete(result, conditionMet, describe.apply(result));
+                    } catch (RuntimeException e) {
+                        close(result);
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    if (conditionMet || polling.attempts >= polling.maxAttempts) {
+                        future.complete(polling);
+                    } else {
+                        scheduleAttempt(polling, future, attempt, condition, describe, delayMs);
+                    }
+                });
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void close(Object result) {
+        if (result instanceof AutoCloseable) {
+            Utils.closeQuietly((AutoCloseable) result);
+        }
+    }
+
+    /**
+     * Result of polling. Attempts are performed one by one, so it is changed by one thread at a time.
+     */
+    @Getter
+    public static final class Polling<T> {
+
+        private final int maxAttempts;
+        private final List<String> history = Collections.synchronizedList(new ArrayList<>());
+        private volatile T result;
+        private volatile int attempts;
+        private volatile boolean conditionMet;
+
+        private Polling(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        private void complete(T result, boolean conditionMet, String description) {
+            final T previous = this.result;
+            this.result = result;
+            if (previous != result) {
+                close(previous);
+            }
+            this.conditionMet = conditionMet;
+            attempts++;
+            history.add("Attempt " + attempts + " at " + Utils.getTimestamp() + ": " + description
+                    + (conditionMet ? ", condition met" : ", condition not met"));
+        }
+
+        private void discardResult() {
+            final T discarded = result;
+            result = null;
+            close(discarded);
+        }
+
+        private void addHistory(String description) {
+            history.add("Attempt " + (attempts + 1) + " at " + Utils.getTimestamp() + ": " + description);
+        }
+    }
+}
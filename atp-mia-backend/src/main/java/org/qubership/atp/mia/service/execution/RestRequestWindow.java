@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service.execution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.qubership.atp.mia.model.impl.CommandResponse;
+import org.qubership.atp.mia.model.impl.executable.Command;
+import org.qubership.atp.mia.model.impl.executable.Rest;
+import org.qubership.atp.mia.repo.impl.PendingRestRequest;
+
+import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded window of REST requests which are executed asynchronously.
+ * Requests are evaluated and sent in thread of execution, up to {@code maxInFlight} of them wait for response
+ * at the same time. Responses are handled in the same thread and in order of submission; bodies of responses
+ * which wait for handling are kept in temporary files, not in heap.
+ * Limitation: request is evaluated when it is submitted, so it doesn't see changes of flow data made by handling
+ * of responses which are still in window. That's why requests with post script or saving of cookies, which change
+ * flow data, are executed synchronously after all responses in window are handled.
+ * With window size 0 each request is executed synchronously on submit.
+ * Window is not thread safe.
+ */
+@Slf4j
+public class RestRequestWindow implements AutoCloseable {
+
+    private final RestExecutionHelperService restService;
+    private final int maxInFlight;
+    private final Deque<InFlight> inFlight = new ArrayDeque<>();
+
+    /**
+     * Creates window.
+     *
+     * @param restService service to execute requests
+     * @param maxInFlight max amount of requests waiting for response, 0 to execute requests synchronously
+     */
+    public RestRequestWindow(RestExecutionHelperService restService, int maxInFlight) {
+        this.restService = restService;
+        this.maxInFlight = Math.max(0, maxInFlight);
+    }
+
+    /**
+     * Submits request. If window is full, the oldest response is handled first.
+     * Handler gets supplier of response which throws exception in case of failed request.
+     *
+     * @param command command with rest
+     * @param handler handler of response
+     */
+    public void submit(Command command, Consumer<Supplier<CommandResponse>> handler) {
+        if (maxInFlight == 0 || changesFlowData(command)) {
+            handleAll();
+            handler.accept(() -> restService.sendRestRequest(command));
+            return;
+        }
+        if (inFlight.size() >= maxInFlight) {
+            handleOldest();
+        }
+        Supplier<CommandResponse> response;
+        try {
+            final PendingRestRequest pending = restService.sendRestRequestAsync(command);
+            response = () -> restService.awaitRestResponse(pending);
+        } catch (RuntimeException e) {
+            log.error("REST request is not sent: {}", e.getMessage());
+            response = () -> {
+                throw e;
+            };
+        }
+        inFlight.add(new InFlight(response, handler));
+    }
+
+    /**
+     * Handles all responses which are not handled yet.
+     */
+    public void handleAll() {
+        while (!inFlight.isEmpty()) {
+            handleOldest();
+        }
+    }
+
+    @Override
+    public void close() {
+        handleAll();
+    }
+
+    private static boolean changesFlowData(Command command) {
+        final Rest rest = command.getRest();
+        return rest != null && (rest.isSaveCookie() || !Strings.isNullOrEmpty(rest.getScript()));
+    }
+
+    private void handleOldest() {
+        final InFlight oldest = inFlight.poll();
+        if (oldest != null) {
+            oldest.handler.accept(oldest.response);
+        }
+    }
+
+    private static final class InFlight {
+
+        private final Supplier<CommandResponse> response;
+        private final Consumer<Supplier<CommandResponse>> handler;
+
+        private InFlight(Supplier<CommandResponse> response, Consumer<Supplier<CommandResponse>> handler) {
+            this.response = response;
+            this.handler = handler;
+        }
+    }
+}
@@ -18,14 +18,18 @@
 package org.qubership.atp.mia.service.execution;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.qubership.atp.integration.configuration.annotation.AtpJaegerLog;
 import org.qubership.atp.mia.exceptions.businesslogic.ssh.SshMissedParameterException;
@@ -38,6 +42,7 @@ import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.generation.Template;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
 import org.qubership.atp.mia.repo.impl.ShellRepository;
+import org.qubership.atp.mia.repo.impl.SshUploadResult;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.file.MiaFileService;
 import org.qubership.atp.mia.utils.Utils;
@@ -113,12 +118,16 @@ public class SshExecutionHelperService {
         Server server = shellRepository.getServer(command);
         miaContext.getFlowData().addParameters(server.getProperties());
         String pathForUpload = miaContext.evaluate(command.getPathForUpload());
+        List<File> filesForUpload = new ArrayList<>();
         for (String fileName : command.getFilesForUpload()) {
             String fullFileName = miaContext.evaluate(fileName);
-            File fileForUpload = miaFileService.getFile(miaContext.evaluate(fullFileName));
-            shellRepository.uploadFileOnServer(server, pathForUpload, fileForUpload);
+            filesForUpload.add(miaFileService.getFile(miaContext.evaluate(fullFileName)));
         }
-        return shellRepository.executeAndGetLog(command);
+        final SshUploadResult uploadResult = shellRepository.uploadFilesOnServer(server, pathForUpload,
+                filesForUpload, file -> miaFileService.getFingerprint(file, server.getUploadChecksum()));
+        final CommandResponse commandResponse = shellRepository.executeAndGetLog(command);
+        addUploadDescription(commandResponse, uploadResult);
+        return commandResponse;
     }
 
     /**
@@ -143,25 +152,41 @@ public class SshExecutionHelperService {
         final Iterator<String> ethalonFilesIterator = command.getEthalonFilesForGeneration().iterator();
         final Iterator<String> namesOfFilesForGeneration = command.getNamesOfFilesForGeneration().iterator();
         final String pathForUpload = miaContext.evaluate(command.getPathForUpload());
+        final List<Template> templates = new ArrayList<>();
         while (ethalonFilesIterator.hasNext() && namesOfFilesForGeneration.hasNext()) {
             final String ethalonFile = miaContext.evaluate(ethalonFilesIterator.next());
             final String fileForGeneration = miaContext.evaluate(namesOfFilesForGeneration.next());
-            final Template template = new Template(miaContext, miaFileService, ethalonFile, fileForGeneration,
-                    command.getFileExtension(), command.definedCharsetForGeneratedFile());
-            template.evaluateFile();
-            shellRepository.uploadFileOnServer(server, pathForUpload, template.getFile());
-            commandOutputs.add(new CommandOutput(template.getFile().getPath(), null, false, miaContext));
+            templates.add(new Template(miaContext, miaFileService, ethalonFile, fileForGeneration,
+                    command.getFileExtension(), command.definedCharsetForGeneratedFile()));
+        }
+        final boolean keepGeneratedFiles = server.getKeepGeneratedFiles();
+        final boolean streamed = server.getStreamGeneratedFiles() && isStreamingPossible(templates)
+                && uploadTemplateStreams(command, server, pathForUpload, templates, keepGeneratedFiles);
+        final List<File> filesForUpload = new ArrayList<>();
+        for (Template template : templates) {
+            if (!streamed) {
+                template.evaluateFile();
+                filesForUpload.add(template.getFile());
+            }
+            if (!streamed || keepGeneratedFiles) {
+                commandOutputs.add(new CommandOutput(template.getFile().getPath(), null, false, miaContext));
+            }
             //save generated files as list into FlowData
-            applyIfSaveGeneratedFiles(command, (name, value) -> {
-                value = Strings.isNullOrEmpty(value) ? "[]" : value;
-                value = value.replaceAll("]", "," + template.getFileName() + "]").replaceAll("\\[,", "[");
-                flowData.addParameter(name, value);
-            });
+            applyIfSaveGeneratedFiles(command, (name, value) ->
+                    flowData.addParameter(name, addGeneratedFile(value, template.getFileName())));
         }
+        final SshUploadResult uploadResult = streamed ? null : shellRepository.uploadFilesOnServer(server,
+                pathForUpload, filesForUpload,
+                file -> miaFileService.getFingerprint(file, server.getUploadChecksum()));
         final CommandResponse commandResponse = shellRepository.executeAndGetLog(command);
+        addUploadDescription(commandResponse, uploadResult);
+        if (streamed) {
+            commandResponse.addDescription("Files %s have been generated directly on server in [%s]".formatted(
+                    templates.stream().map(Template::getFileName).toList(), pathForUpload));
+        }
         //Remove parameter with generated files if saved before
         applyIfSaveGeneratedFiles(command, (name, value) -> flowData.removeParameter(name));
-        Utils.getPathToFileOutOfLog(commandResponse.getCommandOutputs().getFirst().getInternalPathToFile(),
+        Utils.getPathToFileOutOfLog(commandResponse.getCommandOutputs().getFirst(),
                 command.getRegexpForFileRetrieve()).forEach(path ->
                 commandOutputs.add(shellRepository.getFileOnServer(command, pathForUpload + path.trim(), false)));
         commandResponse.addCommandOutputs(commandOutputs);
@@ -180,7 +205,7 @@ public class SshExecutionHelperService {
             throw new SshMissedParameterException(params);
         }
         final CommandResponse commandResponse = shellRepository.executeAndGetLog(command);
-        Utils.getPathToFileOutOfLog(commandResponse.getCommandOutputs().getFirst().getInternalPathToFile(),
+        Utils.getPathToFileOutOfLog(commandResponse.getCommandOutputs().getFirst(),
                 command.getRegexpForFileRetrieve()).forEach(path ->
                 commandResponse.addCommandOutput(shellRepository.getFileOnServer(command, path,
                         command.getDisplayDownloadedFileContent())));
@@ -201,17 +226,29 @@ public class SshExecutionHelperService {
         final Server server = shellRepository.getServer(command);
         miaContext.getFlowData().addParameters(server.getProperties());
         final CommandResponse commandResponse = shellRepository.executeAndGetLog(command);
-        ArrayList<String> pathsToFiles = Utils.getPathToFileOutOfLog(
-                commandResponse.getCommandOutputs().getFirst().getInternalPathToFile(),
+        ArrayList<String> pathsToFiles = Utils.getPathToFileOutOfLog(commandResponse.getCommandOutputs().getFirst(),
                 command.getRegexpForFileRetrieve());
         final String pathForUpload = miaContext.evaluate(command.getPathForUpload());
-        for (String pathToFile : pathsToFiles) {
-            try {
-                shellRepository.transferFileOnServer(command, pathToFile, pathForUpload);
-                commandResponse.addDescription("File [%s] has been moved to [%s]".formatted(
-                        pathToFile, pathForUpload));
-            } catch (Exception e) {
-                throw new SshTransferFileFailException(pathToFile, pathForUpload, e);
+        if (pathsToFiles.isEmpty()) {
+            return commandResponse;
+        }
+        final int[] statuses;
+        try {
+            statuses = shellRepository.transferFilesOnServer(command, pathsToFiles, pathForUpload);
+        } catch (Exception e) {
+            throw new SshTransferFileFailException(String.join(", ", pathsToFiles), pathForUpload, e);
+        }
+        // like transfer by separate commands, result of 'cp' doesn't fail command, it is only reported
+        for (int i = 0; i < pathsToFiles.size(); i++) {
+            final String pathToFile = pathsToFiles.get(i);
+            if (statuses[i] == 0) {
+                commandResponse.addDescription("File [%s] has been moved to [%s]".formatted(pathToFile,
+                        pathForUpload));
+            } else {
+                final String result = statuses[i] < 0 ? "result is not received" : "exit status " + statuses[i];
+                log.warn("Transfer of file [{}] to [{}]: {}", pathToFile, pathForUpload, result);
+                commandResponse.addDescription("Transfer of file [%s] to [%s] is not confirmed: %s".formatted(
+                        pathToFile, pathForUpload, result));
             }
         }
         return commandResponse;
@@ -348,6 +385,95 @@ public class SshExecutionHelperService {
         }
     }
 
+    /**
+     * Adds name of generated file to list of generated files.
+     *
+     * @param value    list of generated files, e.g. [file1,file2]
+     * @param fileName name of generated file
+     * @return list of generated files with new file
+     */
+    private static String addGeneratedFile(String value, String fileName) {
+        value = Strings.isNullOrEmpty(value) ? "[]" : value;
+        return value.replaceAll("]", "," + fileName + "]").replaceAll("\\[,", "[");
+    }
+
+    /**
+     * Checks that generated files can be written directly into SFTP stream.
+     * Files are written by names, so several templates with the same name of file are generated locally
+     * (as before, the last one is left on server).
+     *
+     * @param templates templates of files
+     * @return true if names of all files are unique
+     */
+    private boolean isStreamingPossible(List<Template> templates) {
+        final long uniqueNames = templates.stream().map(Template::getFileName).distinct().count();
+        if (uniqueNames != templates.size()) {
+            log.info("Generated files have the same names, they are uploaded from local files");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Uploads generated files which are written directly into SFTP stream.
+     * Templates are evaluated in the same order and with the same parameters as local files are: the parameter
+     * with list of generated files contains names of previous files only. After upload the parameter is
+     * restored, so names of files are added to it in the same way as for local files.
+     *
+     * @param command       command
+     * @param server        server
+     * @param pathForUpload destination directory
+     * @param templates     templates of files
+     * @param keepLocalCopy whether local copy of generated files should be kept
+     * @return true if files are uploaded, false if streaming is not possible
+     */
+    private boolean uploadTemplateStreams(Command command, Server server, String pathForUpload,
+                                          List<Template> templates, boolean keepLocalCopy) {
+        final FlowData flowData = miaContext.getFlowData();
+        final String parameterName = command.getSaveGeneratedFilesToParameter();
+        final String initialValue = Strings.isNullOrEmpty(parameterName)
+                ? null : flowData.getParameters().get(parameterName);
+        final Map<String, Consumer<OutputStream>> writers = new LinkedHashMap<>();
+        for (int i = 0; i < templates.size(); i++) {
+            final Template template = templates.get(i);
+            final List<Template> previousTemplates = templates.subList(0, i);
+            writers.put(template.getFileName(), outputStream -> {
+                // writer is called again when upload is retried, so the list isn't appended but set
+                applyIfSaveGeneratedFiles(command, (name, value) -> {
+                    String generatedFiles = initialValue;
+                    for (Template previous : previousTemplates) {
+                        generatedFiles = addGeneratedFile(generatedFiles, previous.getFileName());
+                    }
+                    flowData.addParameter(name, generatedFiles);
+                });
+                template.evaluateFile(outputStream, keepLocalCopy);
+            });
+        }
+        try {
+            return shellRepository.uploadStreamsOnServer(server, pathForUpload, writers);
+        } finally {
+            applyIfSaveGeneratedFiles(command, (name, value) -> {
+                if (initialValue == null) {
+                    flowData.removeParameter(name);
+                } else {
+                    flowData.addParameter(name, initialValue);
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds amount of fingerprint hits and misses to response if fingerprints of uploaded files were compared.
+     *
+     * @param commandResponse command response
+     * @param uploadResult    result of upload
+     */
+    private void addUploadDescription(CommandResponse commandResponse, SshUploadResult uploadResult) {
+        if (uploadResult != null && uploadResult.isFingerprintsCompared()) {
+            commandResponse.addDescription(uploadResult.getDescription());
+        }
+    }
+
     public void resetCache() {
         shellRepository.resetCache();
     }
@@ -17,6 +17,7 @@
 
 package org.qubership.atp.mia.service.execution;
 
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -25,6 +26,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
@@ -169,6 +171,7 @@ public class TestDataService {
         });
         //Remove last EVENT_LINE and upload event files.
         final String pathForUpload = miaContext.evaluate(command.getPathForUpload());
+        final List<File> filesForUpload = new ArrayList<>();
         eventFiles.forEach(template -> {
             final String paramInTemplate = command.getTestDataParams().getEventParameterInTemplate();
             final VariableFormat varFormat =
@@ -176,7 +179,7 @@ public class TestDataService {
             final String neededParamInTemplate = varFormat.getVariableAccordingFormat(paramInTemplate);
             template.replaceContent(neededParamInTemplate, "");
             template.writeContent();
-            sshRepo.uploadFileOnServer(server, pathForUpload, template.getFile());
+            filesForUpload.add(template.getFile());
             commandOutputs.add(new CommandOutput(template.getFile().getPath(), null, false, miaContext));
         });
         //Prepare and upload control file
@@ -191,9 +194,10 @@ public class TestDataService {
                     command.getFileExtension(), command.definedCharsetForGeneratedFile());
             controlTemplate.evaluateFile();
             flowData.removeParameter(command.getSaveGeneratedFilesToParameter());
-            sshRepo.uploadFileOnServer(server, pathForUpload, controlTemplate.getFile());
+            filesForUpload.add(controlTemplate.getFile());
             commandOutputs.add(new CommandOutput(controlTemplate.getFile().getPath(), null, false, miaContext));
         }
+        sshRepo.uploadFilesOnServer(server, pathForUpload, filesForUpload);
         writeTestDataWorkbookToFile(testDataWorkbook.getExcelFile());
         final String excelFilePath = testDataWorkbook.getExcelFile();
         commandOutputs.add(new CommandOutput(excelFilePath, null, false, miaContext));
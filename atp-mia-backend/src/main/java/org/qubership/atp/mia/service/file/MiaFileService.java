@@ -26,15 +26,20 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HexFormat;
 import java.util.UUID;
 
 import org.bson.types.ObjectId;
 import org.qubership.atp.mia.exceptions.fileservice.FileEmptyException;
 import org.qubership.atp.mia.exceptions.fileservice.FileTransferFailException;
+import org.qubership.atp.mia.exceptions.fileservice.IoException;
 import org.qubership.atp.mia.exceptions.fileservice.ReadFailFileNotFoundException;
 import org.qubership.atp.mia.exceptions.fileservice.WrongFilePathException;
+import org.qubership.atp.mia.model.file.FileFingerprint;
 import org.qubership.atp.mia.model.file.FileMetaData;
 import org.qubership.atp.mia.model.file.ProjectFile;
 import org.qubership.atp.mia.model.file.ProjectFileType;
@@ -49,6 +54,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.mongodb.MongoGridFSException;
 import jakarta.servlet.ServletContext;
 import lombok.RequiredArgsConstructor;
@@ -59,9 +66,14 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MiaFileService {
 
+    private static final int FINGERPRINTS_CACHE_SIZE = 10_000;
+
     private final GridFsService gridFsService;
     private final MiaContext miaContext;
     private final ProjectConfigurationService projectConfigurationService;
+    private final Cache<String, FileFingerprint> fingerprints = CacheBuilder.newBuilder()
+            .maximumSize(FINGERPRINTS_CACHE_SIZE)
+            .build();
     @Value("${dos2unix.path:/usr/bin/dos2unix}")
     String dos2UnixCustomPath;
 
@@ -149,6 +161,30 @@ public class MiaFileService {
         return getFile(filePathToGet.normalize().toFile());
     }
 
+    /**
+     * Gets fingerprint of local file.
+     * Hash is calculated only when it's requested and file is new or its size or modification time is changed,
+     * otherwise cached fingerprint is returned.
+     *
+     * @param file         file
+     * @param withChecksum whether MD5 hash of content is needed
+     * @return {@link FileFingerprint}, its MD5 hash is {@code null} when checksum is not requested
+     */
+    public FileFingerprint getFingerprint(File file, boolean withChecksum) {
+        final String key = file.getAbsolutePath();
+        final long size = file.length();
+        final long lastModified = file.lastModified();
+        final FileFingerprint cached = fingerprints.getIfPresent(key);
+        if (cached != null && cached.isSameVersion(size, lastModified)
+                && (!withChecksum || cached.getMd5() != null)) {
+            return cached;
+        }
+        final FileFingerprint fingerprint = new FileFingerprint(size, lastModified,
+                withChecksum ? md5(file) : null);
+        fingerprints.put(key, fingerprint);
+        return fingerprint;
+    }
+
     /**
      * Remove project file.
      *
@@ -251,6 +287,22 @@ public class MiaFileService {
         return uploadFile(file, needDos2Unix, ProjectFileType.MIA_FILE_TYPE_UPLOAD);
     }
 
+    private static String md5(File file) {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            final MessageDigest digest = MessageDigest.getInstance("MD5");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new IoException(file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private MediaType getMediaTypeForFileName(ServletContext servletContext, String fileName) {
         MediaType mediaType;
         String mineType = servletContext.getMimeType(fileName);
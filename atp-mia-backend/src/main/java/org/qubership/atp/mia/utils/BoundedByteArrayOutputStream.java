@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Keeps in memory only first {@code maxSize} bytes written to stream, the rest is counted and discarded.
+ * Not thread safe.
+ */
+public class BoundedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private final long maxSize;
+    private long totalSize;
+
+    /**
+     * Creates stream.
+     *
+     * @param maxSize max amount of bytes kept in memory, non-positive value means no limit
+     */
+    public BoundedByteArrayOutputStream(long maxSize) {
+        this.maxSize = maxSize > 0 ? maxSize : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void write(int b) {
+        totalSize++;
+        if (count < maxSize) {
+            super.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        totalSize += len;
+        final int toKeep = (int) Math.min(len, maxSize - count);
+        if (toKeep > 0) {
+            super.write(b, off, toKeep);
+        }
+    }
+
+    /**
+     * Amount of bytes written to stream, including discarded ones.
+     *
+     * @return total size
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Whether some written bytes were discarded.
+     *
+     * @return true if content kept in memory is not complete
+     */
+    public boolean isTruncated() {
+        return totalSize > count;
+    }
+}
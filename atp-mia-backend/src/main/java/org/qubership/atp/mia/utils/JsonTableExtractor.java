@@ -0,0 +1,228 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.qubership.atp.mia.model.pot.db.table.DbTable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds {@link DbTable} from JSON array read by streaming parser, row by row.
+ * Objects of array are rows, their fields are columns (columns are discovered in order of appearance);
+ * nested arrays are rows with values in order of columns. Nested values are kept as JSON text.
+ * Only first {@code limitRecords} rows are kept in memory, all rows are counted
+ * and, if CSV file is set, written to it in the same format as SQL tables.
+ * Not thread safe.
+ */
+@Slf4j
+public class JsonTableExtractor implements Closeable {
+
+    private static final String VALUE_COLUMN = "value";
+    private final int limitRecords;
+    @Nullable
+    private final File csvFile;
+    private final List<String> columns = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final List<List<String>> rows = new ArrayList<>();
+    private int rowsCount;
+    private Path csvRowsFile;
+    private Writer csvRows;
+    private boolean csvWritten;
+
+    /**
+     * Creates extractor.
+     *
+     * @param limitRecords max amount of rows kept in table, non-positive means no limit
+     * @param csvFile      file to write all rows to, null if rows should not be written
+     */
+    public JsonTableExtractor(int limitRecords, @Nullable File csvFile) {
+        this.limitRecords = limitRecords > 0 ? limitRecords : Integer.MAX_VALUE;
+        this.csvFile = csvFile;
+    }
+
+    /**
+     * Sets predefined columns, new columns found in objects are added after them.
+     *
+     * @param columns columns
+     */
+    public void setColumns(@Nullable Collection<String> columns) {
+        if (columns != null) {
+            columns.forEach(this::columnIndex);
+        }
+    }
+
+    /**
+     * Reads rows from array. Parser should point to start of array, it points to end of array after reading.
+     *
+     * @param parser parser
+     * @throws IOException if JSON is not valid or CSV file can't be written
+     */
+    public void readRows(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Array of rows is expected, but found " + parser.currentToken());
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of array of rows");
+            }
+            final List<String> row = new ArrayList<>(columns.size());
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final int index = columnIndex(parser.currentName());
+                    parser.nextToken();
+                    set(row, index, readValue(parser));
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    row.add(readValue(parser));
+                }
+            } else {
+                set(row, columnIndex(VALUE_COLUMN), readValue(parser));
+            }
+            addRow(row);
+        }
+    }
+
+    /**
+     * Builds table from rows read. Rows shorter than list of columns are filled with nulls.
+     *
+     * @return table, size of it before limit is amount of all rows read
+     * @throws IOException if CSV file can't be written
+     */
+    public DbTable toTable() throws IOException {
+        rows.forEach(row -> {
+            while (row.size() < columns.size()) {
+                row.add(null);
+            }
+        });
+        final DbTable table = new DbTable(new ArrayList<>(columns), rows);
+        table.setActualDataSizeBeforeLimit(rowsCount);
+        writeCsv();
+        return table;
+    }
+
+    /**
+     * Whether rows are written to CSV file.
+     *
+     * @return true if CSV file is created
+     */
+    public boolean isCsvWritten() {
+        return csvWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csvRows != null) {
+            csvRows.close();
+            csvRows = null;
+        }
+        if (csvRowsFile != null) {
+            Files.deleteIfExists(csvRowsFile);
+            csvRowsFile = null;
+        }
+    }
+
+    private int columnIndex(String column) {
+        return columnIndexes.computeIfAbsent(column, c -> {
+            columns.add(c);
+            return columns.size() - 1;
+        });
+    }
+
+    private static void set(List<String> row, int index, String value) {
+        while (row.size() <= index) {
+            row.add(null);
+        }
+        row.set(index, value);
+    }
+
+    private static String readValue(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        return parser.readValueAsTree().toString();
+    }
+
+    private void addRow(List<String> row) throws IOException {
+        rowsCount++;
+        if (rows.size() < limitRecords) {
+            rows.add(row);
+        }
+        if (csvFile != null) {
+            if (csvRows == null) {
+                // header is known only after all rows are read, so rows are collected in separate file first
+                FileUtils.createFolder(csvFile);
+                csvRowsFile = Files.createTempFile(csvFile.toPath().toAbsolutePath().getParent(),
+                        csvFile.getName(), ".rows");
+                csvRows = Files.newBufferedWriter(csvRowsFile, StandardCharsets.UTF_8);
+            }
+            writeCsvLine(csvRows, row);
+        }
+    }
+
+    private void writeCsv() throws IOException {
+        if (csvFile == null || csvRows == null) {
+            return;
+        }
+        csvRows.close();
+        csvRows = null;
+        try (Writer writer = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.UTF_8)) {
+            writeCsvLine(writer, columns);
+        }
+        try (OutputStream out = Files.newOutputStream(csvFile.toPath(), StandardOpenOption.APPEND)) {
+            Files.copy(csvRowsFile, out);
+        }
+        Files.deleteIfExists(csvRowsFile);
+        csvRowsFile = null;
+        csvWritten = true;
+        log.info("Table with {} rows is saved to CSV: {}", rowsCount, csvFile);
+    }
+
+    private static void writeCsvLine(Writer writer, Collection<String> values) throws IOException {
+        for (String value : values) {
+            if (value != null) {
+                writer.write(value.replace(",", "."));
+            }
+            writer.write(',');
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.qubership.atp.mia.exceptions.fileservice.ReadFailIoExceptionDuringOperation;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extracts paths to files from log.
+ * Pattern is compiled once and all found paths are kept in order of appearance (as matches in whole log).
+ * Log is read line by line when result is the same as for whole log (see {@link #isLineByLine(String)}),
+ * so extractor can be fed while output of command is captured and no second pass over log is needed.
+ * Otherwise (e.g. regexp with anchors) whole log is matched at once.
+ */
+@Slf4j
+public class LogPathExtractor implements Consumer<String> {
+
+    /*
+     * Constructs which depend on line terminator or can match it: anchors, flags (?s) and (?m),
+     * negated classes and escapes like \s, \W, \D, \n or \R.
+     */
+    private static final Pattern MULTILINE_CONSTRUCTS =
+            Pattern.compile("[\\^$]|\\\\[AZzsWDnrRvPxuc0]|\\(\\?[a-zA-Z]*[sm]");
+
+    @Getter
+    private final String regex;
+    private final Pattern pattern;
+    private final List<String> paths = new ArrayList<>();
+
+    /**
+     * Creates extractor.
+     *
+     * @param regex regular expression of path to file
+     */
+    public LogPathExtractor(String regex) {
+        this.regex = regex;
+        this.pattern = Pattern.compile(regex);
+    }
+
+    /**
+     * Checks whether paths found in every line of log are the same as paths found in whole log.
+     * It is not so if regexp can match line terminator or depends on it, check is conservative.
+     *
+     * @param regex regular expression of path to file
+     * @return true if log can be matched line by line
+     */
+    public static boolean isLineByLine(String regex) {
+        return !MULTILINE_CONSTRUCTS.matcher(regex).find();
+    }
+
+    /**
+     * Finds all paths in line or in whole content of log.
+     *
+     * @param content line of log or whole log
+     */
+    @Override
+    public synchronized void accept(String content) {
+        final Matcher matcher = pattern.matcher(content);
+        while (matcher.find()) {
+            final String pathToFileFound = matcher.group();
+            log.info("Found path to file in log: {}", pathToFileFound);
+            paths.add(pathToFileFound);
+        }
+    }
+
+    /**
+     * Reads log file and finds paths in it, log is read line by line if it is possible for regexp.
+     *
+     * @param logFile path to log file
+     * @return this extractor
+     */
+    public LogPathExtractor extractFrom(Path logFile) {
+        try {
+            if (!isLineByLine(regex)) {
+                accept(Files.readString(logFile));
+                return this;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    accept(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new ReadFailIoExceptionDuringOperation(logFile.toString(), e);
+        }
+        return this;
+    }
+
+    /**
+     * Gets found paths.
+     *
+     * @return paths in order of their appearance in log
+     */
+    public synchronized ArrayList<String> getPaths() {
+        return new ArrayList<>(paths);
+    }
+}
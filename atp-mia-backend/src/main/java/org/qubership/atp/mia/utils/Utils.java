@@ -17,10 +17,8 @@
 
 package org.qubership.atp.mia.utils;
 
-import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -47,13 +45,13 @@ import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.apache.hc.core5.http.HttpResponse;
-import org.qubership.atp.mia.exceptions.fileservice.ReadFailIoExceptionDuringOperation;
 import org.qubership.atp.mia.exceptions.itflite.IncorrectProcessNameException;
 import org.qubership.atp.mia.model.Constants;
 import org.qubership.atp.mia.model.configuration.Switcher;
 import org.qubership.atp.mia.model.environment.Server;
 import org.qubership.atp.mia.model.exception.ErrorCodes;
 import org.qubership.atp.mia.model.exception.MiaException;
+import org.qubership.atp.mia.model.impl.output.CommandOutput;
 import org.qubership.atp.mia.model.pot.db.DbType;
 import org.slf4j.Logger;
 
@@ -138,22 +136,22 @@ public class Utils {
 
     /**
      * Get paths to files from log.
+     * Log is read line by line if it gives the same paths as whole log, see {@link LogPathExtractor}.
      */
     public static ArrayList<String> getPathToFileOutOfLog(String outputFilePath, String regex) {
-        ArrayList<String> paths = new ArrayList<>();
-        Pattern pattern = Pattern.compile(regex);
-        try {
-            String result = Files.readString(Path.of(outputFilePath));
-            Matcher matcher = pattern.matcher(result);
-            while (matcher.find()) {
-                final String pathToFileFound = matcher.group();
-                log.info("Found path to file in log: {}", pathToFileFound);
-                paths.add(pathToFileFound);
-            }
-        } catch (IOException e) {
-            throw new ReadFailIoExceptionDuringOperation(outputFilePath, e);
+        return new LogPathExtractor(regex).extractFrom(Path.of(outputFilePath)).getPaths();
+    }
+
+    /**
+     * Get paths to files from log of command output.
+     * If paths were already extracted with the same regex while output was captured then log is not read again.
+     */
+    public static ArrayList<String> getPathToFileOutOfLog(CommandOutput commandOutput, String regex) {
+        final LogPathExtractor pathExtractor = commandOutput.getPathExtractor();
+        if (pathExtractor != null && pathExtractor.getRegex().equals(regex)) {
+            return pathExtractor.getPaths();
         }
-        return paths;
+        return getPathToFileOutOfLog(commandOutput.getInternalPathToFile(), regex);
     }
 
     public static String getFileNameFromPath(String path) {
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Streaming alternative of {@link Utils#getPrettyStringFromXml(String)}: xml is read and written event by event
+ * (StAX), so memory does not depend on size of document.
+ * Elements are indented by 2 spaces; whitespace between elements is replaced by indentation,
+ * content of elements with text is kept as is.
+ */
+public final class XmlPrettyWriter {
+
+    private static final String INDENT = "  ";
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final XMLEventFactory EVENT_FACTORY = XMLEventFactory.newInstance();
+
+    private XmlPrettyWriter() {
+    }
+
+    /**
+     * Writes pretty xml from input to output in UTF-8.
+     * XML declaration is written on separate line. Streams are not closed.
+     *
+     * @param in  xml
+     * @param out output for pretty xml
+     * @throws XMLStreamException if xml is malformed or could not be written
+     */
+    public static void write(InputStream in, OutputStream out) throws XMLStreamException {
+        final XMLEventReader reader = INPUT_FACTORY.createXMLEventReader(in);
+        final XMLEventWriter writer = OUTPUT_FACTORY.createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+        final Deque<Level> levels = new ArrayDeque<>();
+        try {
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                switch (event.getEventType()) {
+                    case XMLEvent.START_DOCUMENT:
+                        writer.add(EVENT_FACTORY.createStartDocument(StandardCharsets.UTF_8.name(), "1.0"));
+                        break;
+                    case XMLEvent.START_ELEMENT:
+                        newLine(writer, levels);
+                        writer.add(event);
+                        levels.push(new Level(!levels.isEmpty() && levels.peek().mixed));
+                        break;
+                    case XMLEvent.END_ELEMENT:
+                        final Level level = levels.pop();
+                        if (level.children && !level.mixed) {
+                            writer.add(EVENT_FACTORY.createCharacters("\n" + INDENT.repeat(levels.size())));
+                        }
+                        writer.add(event);
+                        break;
+                    case XMLEvent.CHARACTERS:
+                    case XMLEvent.SPACE:
+                        final Characters characters = event.asCharacters();
+                        if (characters.isCData() || !characters.getData().isBlank()) {
+                            if (!levels.isEmpty()) {
+                                levels.peek().mixed = true;
+                            }
+                            writer.add(event);
+                        } else if (!levels.isEmpty() && levels.peek().mixed) {
+                            writer.add(event);
+                        }
+                        break;
+                    case XMLEvent.COMMENT:
+                    case XMLEvent.PROCESSING_INSTRUCTION:
+                        newLine(writer, levels);
+                        writer.add(event);
+                        break;
+                    default:
+                        writer.add(event);
+                }
+            }
+            writer.flush();
+        } finally {
+            reader.close();
+            writer.close();
+        }
+    }
+
+    private static void newLine(XMLEventWriter writer, Deque<Level> levels) throws XMLStreamException {
+        if (!levels.isEmpty()) {
+            final Level parent = levels.peek();
+            parent.children = true;
+            if (parent.mixed) {
+                return;
+            }
+        }
+        writer.add(EVENT_FACTORY.createCharacters("\n" + INDENT.repeat(levels.size())));
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * State of open element. Inside element with text (mixed content) whitespace is significant,
+     * so nothing is indented there.
+     */
+    private static final class Level {
+
+        private boolean children;
+        private boolean mixed;
+
+        private Level(boolean mixed) {
+            this.mixed = mixed;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.qubership.atp.mia.model.impl.request.ExecutionRequest;
 import org.qubership.atp.mia.service.MiaContext;
 import org.qubership.atp.mia.service.cache.MiaCacheService;
 import org.qubership.atp.mia.service.execution.ProcessService;
+import org.qubership.atp.mia.service.execution.RestClientService;
 import org.qubership.atp.mia.service.execution.SshExecutionHelperService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -67,6 +68,9 @@ public class MiaCacheControllerTests {
     @MockBean
     private SshExecutionHelperService sshExecutionHelperService;
 
+    @MockBean
+    private RestClientService restClientService;
+
     /**
      * Method under test: {@link MiaCacheController#resetDbCache(UUID, String)}
      */
@@ -92,6 +96,7 @@ public class MiaCacheControllerTests {
         ResponseEntity<Boolean> actualResetEnvironmentCachesResult = miaCacheController
                 .resetEnvironmentCaches(UUID.randomUUID());
         verify(miaCacheService).clearEnvironmentsCache(Mockito.any(), Mockito.any());
+        verify(restClientService).resetCache();
         assertEquals(HttpStatus.OK, actualResetEnvironmentCachesResult.getStatusCode());
         assertEquals(Boolean.TRUE, actualResetEnvironmentCachesResult.getBody());
         assertTrue(actualResetEnvironmentCachesResult.getHeaders().isEmpty());
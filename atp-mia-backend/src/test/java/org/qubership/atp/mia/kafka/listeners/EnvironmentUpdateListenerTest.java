@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.kafka.listeners;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.kafka.model.notification.EnvironmentUpdateEvent;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Environment;
+import org.qubership.atp.mia.model.environment.System;
+import org.qubership.atp.mia.repo.impl.pool.rest.RestClientPool;
+import org.qubership.atp.mia.repo.impl.pool.ssh.SshSessionPool;
+import org.qubership.atp.mia.service.cache.MiaCacheService;
+import org.qubership.atp.mia.service.configuration.EnvironmentsService;
+import org.springframework.cache.CacheManager;
+
+public class EnvironmentUpdateListenerTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID environmentId = UUID.randomUUID();
+    private MiaCacheService miaCacheService;
+    private CacheManager cacheManager;
+    private EnvironmentsService environmentsService;
+    private SshSessionPool sshSessionPool;
+    private RestClientPool restClientPool;
+    private EnvironmentUpdateListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        miaCacheService = mock(MiaCacheService.class);
+        cacheManager = mock(CacheManager.class);
+        environmentsService = mock(EnvironmentsService.class);
+        sshSessionPool = mock(SshSessionPool.class);
+        restClientPool = mock(RestClientPool.class);
+        listener = new EnvironmentUpdateListener(miaCacheService, cacheManager, environmentsService, sshSessionPool,
+                restClientPool);
+    }
+
+    private static Connection connection(UUID id, String host) {
+        return Connection.builder().id(id).name("ssh").parameters(Map.of("ssh_host", host)).build();
+    }
+
+    private Environment environment(Connection... connections) {
+        return Environment.builder().id(environmentId).projectId(projectId)
+                .systems(List.of(System.builder().connections(List.of(connections)).build()))
+                .build();
+    }
+
+    @Test
+    public void listenToEnvironmentService_retiresOnlyChangedConnections() {
+        UUID changedId = UUID.randomUUID();
+        UUID sameId = UUID.randomUUID();
+        Connection changed = connection(changedId, "old-host");
+        Connection same = connection(sameId, "host");
+        when(miaCacheService.getCachedEnvironments(cacheManager, projectId))
+                .thenReturn(List.of(environment(changed, same)));
+        when(environmentsService.getEnvironmentsFull(environmentId, projectId))
+                .thenReturn(environment(connection(changedId, "new-host"), connection(sameId, "host")));
+        listener.listenToEnvironmentService(new EnvironmentUpdateEvent(UUID.randomUUID(), null, projectId));
+        verify(miaCacheService).clearEnvironmentsCache(cacheManager, projectId);
+        verify(sshSessionPool).retireSessions(Set.of(changed));
+        verify(restClientPool).retireClients(Set.of(changed));
+    }
+
+    @Test
+    public void listenToEnvironmentService_retiresNothing_whenUpdatedEnvironmentIsNotLoaded() {
+        when(miaCacheService.getCachedEnvironments(cacheManager, projectId))
+                .thenReturn(List.of(environment(connection(UUID.randomUUID(), "host"))));
+        when(environmentsService.getEnvironmentsFull(environmentId, projectId))
+                .thenThrow(new RuntimeException("environments service is not available"));
+        listener.listenToEnvironmentService(new EnvironmentUpdateEvent(UUID.randomUUID(), null, projectId));
+        verify(miaCacheService).clearEnvironmentsCache(cacheManager, projectId);
+        verify(sshSessionPool, never()).retireSessions(any());
+        verify(restClientPool, never()).retireClients(any());
+    }
+}
@@ -19,9 +19,11 @@ package org.qubership.atp.mia.model.environment;
 
 import static org.qubership.atp.mia.integration.utils.TestUtils.getSshTestParams;
 
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -46,4 +48,16 @@ public class ServerTest {
         server.getConnection().setParameters(getSshTestParams(sshHost));
         Assertions.assertEquals(sshPort, server.getPort());
     }
+
+    @Test
+    public void testExecChannelFlag() {
+        Server server = new Server(new Connection(), "ssh");
+        Map<String, String> params = getSshTestParams("127.0.0.1");
+        server.getConnection().setParameters(params);
+        Assertions.assertFalse(server.getExecChannel());
+        Assertions.assertFalse(ConnectionProps.forSsh(server).isExecChannel());
+        params.put("ssh_execChannel", "true");
+        Assertions.assertTrue(server.getExecChannel());
+        Assertions.assertTrue(ConnectionProps.forSsh(server).isExecChannel());
+    }
 }
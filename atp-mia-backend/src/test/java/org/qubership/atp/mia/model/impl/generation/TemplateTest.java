@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.model.impl.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.qubership.atp.mia.ConfigTestBean;
+import org.qubership.atp.mia.SkipTestInJenkins;
+import org.qubership.atp.mia.service.file.MiaFileService;
+
+@ExtendWith(SkipTestInJenkins.class)
+public class TemplateTest extends ConfigTestBean {
+
+    // macros takes several lines, so it can be evaluated only as whole content
+    private static final String ETHALON = """
+            header :templateParam
+            ${CycleTextGeneration('row [X]',
+            ';',
+            'X',
+            'X -> [1, 2]')}
+            footer
+            """;
+
+    @Test
+    public void evaluateFile_toStream_evaluatesContentAsWhole() throws IOException {
+        final Path ethalon = miaContext.get().getProjectFilePath().resolve("ethalon.txt");
+        Files.createDirectories(ethalon.getParent());
+        Files.createDirectories(miaContext.get().getLogPath());
+        Files.writeString(ethalon, ETHALON);
+        miaContext.get().getFlowData().addParameter("templateParam", "value");
+        final MiaFileService fileService = mock(MiaFileService.class);
+        final Template local = new Template(miaContext.get(), fileService, "ethalon.txt", "local", ".txt", null);
+        final String expected = Files.readString(local.getFile().toPath());
+        final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        new Template(miaContext.get(), fileService, "ethalon.txt", "streamed", ".txt", null)
+                .evaluateFile(streamed, false);
+        assertEquals(expected, streamed.toString(StandardCharsets.UTF_8));
+        assertFalse(expected.contains("${"));
+        assertFalse(expected.contains(":templateParam"));
+    }
+
+    @Test
+    public void evaluateFile_toStream_evaluatesContentOnce_whenCalledAgainOnRetry() throws IOException {
+        final Path ethalon = miaContext.get().getProjectFilePath().resolve("ethalon.txt");
+        Files.createDirectories(ethalon.getParent());
+        Files.createDirectories(miaContext.get().getLogPath());
+        Files.writeString(ethalon, ETHALON);
+        miaContext.get().getFlowData().addParameter("templateParam", "first");
+        final Template template = new Template(miaContext.get(), mock(MiaFileService.class), "ethalon.txt",
+                "streamed", ".txt", null);
+        final ByteArrayOutputStream firstAttempt = new ByteArrayOutputStream();
+        template.evaluateFile(firstAttempt, false);
+        miaContext.get().getFlowData().addParameter("templateParam", "second");
+        final ByteArrayOutputStream retry = new ByteArrayOutputStream();
+        template.evaluateFile(retry, false);
+        assertEquals(firstAttempt.toString(StandardCharsets.UTF_8), retry.toString(StandardCharsets.UTF_8));
+        assertTrue(retry.toString(StandardCharsets.UTF_8).startsWith("header first"));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.model.pot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.exceptions.responseerrors.MarkerRegexException;
+import org.qubership.atp.mia.model.impl.output.MarkedContent;
+
+public class MarkerMatcherTest {
+
+    private static Marker marker(boolean abortOnFailMarker) {
+        return Marker.builder()
+                .passedMarkerForLog(List.of("DONE"))
+                .warnMarkersForLog(List.of("WARN.*"))
+                .failedMarkersForLog(List.of("ERROR \\d+"))
+                .abortOnFailMarker(abortOnFailMarker)
+                .build();
+    }
+
+    @Test
+    public void check_returnsStatusOfLineWithFailPriority() {
+        MarkerMatcher matcher = marker(false).compile();
+        assertEquals(Statuses.FAIL, matcher.check("WARN and ERROR 42 and DONE"));
+        assertEquals(Statuses.WARNING, matcher.check("WARN and DONE"));
+        assertEquals(Statuses.SUCCESS, matcher.check("DONE"));
+        assertEquals(Statuses.UNKNOWN, matcher.check("nothing"));
+    }
+
+    @Test
+    public void accept_aggregatesStatusAndRequestsAbortOnlyWhenEnabled() {
+        MarkerMatcher matcher = marker(true).compile();
+        matcher.accept("DONE");
+        assertEquals(Statuses.SUCCESS, matcher.getStatus());
+        matcher.accept("WARN");
+        assertEquals(Statuses.WARNING, matcher.getStatus());
+        assertFalse(matcher.isAbortRequested());
+        matcher.accept("ERROR 1");
+        matcher.accept("ERROR 2");
+        assertEquals(Statuses.FAIL, matcher.getStatus());
+        assertEquals("ERROR 1", matcher.getFirstFailedLine());
+        assertTrue(matcher.isAbortRequested());
+
+        MarkerMatcher notAborting = marker(false).compile();
+        notAborting.accept("ERROR 1");
+        assertFalse(notAborting.isAbortRequested());
+    }
+
+    @Test
+    public void accept_keepsLinesWithMarkersInOrder() {
+        MarkerMatcher matcher = marker(false).compile();
+        matcher.accept("DONE");
+        matcher.accept("nothing");
+        matcher.accept("ERROR 1");
+        assertEquals(List.of(new MarkedContent("DONE", Statuses.SUCCESS), new MarkedContent("ERROR 1", Statuses.FAIL)),
+                matcher.getMarkedContent());
+    }
+
+    @Test
+    public void compile_throwsMarkerRegexException_whenRegexIsIncorrect() {
+        Marker marker = Marker.builder().warnMarkersForLog(List.of("[incorrect")).build();
+        assertThrows(MarkerRegexException.class, marker::compile);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.qubership.atp.mia.repo.impl;
+
+import static org.qubership.atp.mia.TestConstants.SSH_HOST;
+import static org.qubership.atp.mia.TestConstants.SSH_LOGIN;
+import static org.qubership.atp.mia.TestConstants.SSH_PASSWORD;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.shell.InteractiveProcessShellFactory;
+import org.apache.sshd.server.shell.ProcessShellFactory;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Server;
+
+/**
+ * Embedded SSH/SFTP server for tests of SSH layer, commands are executed by local '/bin/sh'.
+ */
+final class EmbeddedSshServer {
+
+    static final String USER = "mia";
+    static final String PASSWORD = "mia";
+
+    private EmbeddedSshServer() {
+    }
+
+    /**
+     * Starts server on random port of localhost.
+     *
+     * @param keyDirectory directory to keep generated host key
+     * @return started server
+     * @throws IOException if server can't be started
+     */
+    static SshServer start(Path keyDirectory) throws IOException {
+        final SshServer sshServer = SshServer.setUpDefaultServer();
+        sshServer.setHost("127.0.0.1");
+        sshServer.setPort(0);
+        sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(keyDirectory.resolve("hostkey.ser")));
+        sshServer.setPasswordAuthenticator((user, password, session) -> USER.equals(user)
+                && PASSWORD.equals(password));
+        sshServer.setCommandFactory((channel, command) ->
+                new ProcessShellFactory(command, "/bin/sh", "-c", command).createShell(channel));
+        sshServer.setShellFactory(InteractiveProcessShellFactory.INSTANCE);
+        sshServer.setSubsystemFactories(List.of(new SftpSubsystemFactory.Builder().build()));
+        sshServer.start();
+        return sshServer;
+    }
+
+    /**
+     * Creates SSH server of environment connected to embedded server.
+     *
+     * @param sshServer            started embedded server
+     * @param name                 name of connection
+     * @param additionalParameters parameters of connection in addition to host and credentials
+     * @return {@link Server}
+     */
+    static Server server(SshServer sshServer, String name, Map<String, String> additionalParameters) {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put(SSH_HOST, "127.0.0.1:" + sshServer.getPort());
+        parameters.put(SSH_LOGIN, USER);
+        parameters.put(SSH_PASSWORD, PASSWORD);
+        parameters.putAll(additionalParameters);
+        return new Server(Connection.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .sourceTemplateId(Connection.SourceTemplateId.SSH.id)
+                .systemId(UUID.randomUUID())
+                .parameters(parameters)
+                .build(), "ssh");
+    }
+}
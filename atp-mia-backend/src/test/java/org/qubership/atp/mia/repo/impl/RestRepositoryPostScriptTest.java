@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +32,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.qubership.atp.mia.ConfigTestBean;
 import org.qubership.atp.mia.SkipTestInJenkins;
 import org.qubership.atp.mia.model.impl.executable.Rest;
+import org.qubership.atp.mia.service.execution.PostScriptService;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
 import org.qubership.atp.mia.service.execution.RestClientService;
+import org.qubership.atp.mia.service.execution.RestPollingScheduler;
 import org.qubership.atp.mia.service.execution.SqlExecutionHelperService;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -48,9 +52,18 @@ public class RestRepositoryPostScriptTest extends ConfigTestBean {
     @MockBean
     protected SqlExecutionHelperService sqlService;
 
+    private PostScriptService postScriptService;
+
     @BeforeEach
     public void init() {
-        restRepository = new RestRepository(miaContext.get(), mock(RestClientService.class), metricsService);
+        postScriptService = new PostScriptService(2, 10, 10);
+        restRepository = new RestRepository(miaContext.get(), mock(RestClientService.class), metricsService,
+                postScriptService, mock(RestPollingScheduler.class), mock(RequestLogWriter.class));
+    }
+
+    @AfterEach
+    public void destroy() {
+        postScriptService.destroy();
     }
 
     @Test
@@ -85,6 +98,21 @@ public class RestRepositoryPostScriptTest extends ConfigTestBean {
         Assertions.assertEquals(expectedValue, miaContext.get().getFlowData().getParameters().get(expectedKey));
     }
 
+    @Test
+    public void givenScriptDefiningVariable_whenExecutingPostScriptTwice_thenVariableIsNotShared() {
+        // Arrange
+        String script = "collectionVariables.put(\"defined\", typeof counter); counter = 1;";
+        Rest rest = new Rest();
+        rest.setScript(script);
+        ClassicHttpResponse response = mock(ClassicHttpResponse.class);
+        // Act
+        restRepository.executeScript(rest, response, "body", DEFAULT_PROCESS_NAME);
+        String result = restRepository.executeScript(rest, response, "body", DEFAULT_PROCESS_NAME);
+        // Assert
+        Assertions.assertEquals("Post script has been successfully executed", result);
+        Assertions.assertEquals("undefined", miaContext.get().getFlowData().getParameters().get("defined"));
+    }
+
     @Test
     public void givenScriptUsingRestrictedJavaAPI_whenExecutingPostScript_thenExpectError() {
         // Arrange
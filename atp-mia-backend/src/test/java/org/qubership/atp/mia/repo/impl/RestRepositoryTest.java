@@ -30,23 +30,38 @@ import static org.mockito.Mockito.when;
 import static org.qubership.atp.mia.repo.impl.RestRepository.HEADER_CONTENT_TYPE;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.client5.http.entity.EntityBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.io.entity.BasicHttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.apache.hc.core5.http.message.BasicHeader;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -59,8 +74,16 @@ import org.qubership.atp.mia.model.impl.CommandResponse;
 import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.executable.RestLoopParameters;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.model.pot.db.SqlResponse;
 import org.qubership.atp.mia.model.pot.db.table.DbTable;
+import org.qubership.atp.mia.repo.impl.pool.rest.HttpCompression;
+import org.qubership.atp.mia.repo.impl.pool.rest.RestClientPool;
+import org.qubership.atp.mia.service.execution.PostScriptService;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
 import org.qubership.atp.mia.service.execution.RestClientService;
+import org.qubership.atp.mia.service.execution.RestPollingScheduler;
+
+import com.sun.net.httpserver.HttpServer;
 
 public class RestRepositoryTest extends RestRepositoryTestConfiguration {
 
@@ -71,6 +94,12 @@ public class RestRepositoryTest extends RestRepositoryTestConfiguration {
     final ThreadLocal<File> logFile = new ThreadLocal<>();
     final ThreadLocal<HttpUriRequestBase> requestBase = new ThreadLocal<>();
     final ThreadLocal<ClassicHttpResponse> response = new ThreadLocal<>();
+    final RestPollingScheduler pollingScheduler = new RestPollingScheduler();
+
+    @AfterEach
+    public void stopPollingScheduler() {
+        pollingScheduler.destroy();
+    }
 
     @AfterEach
     public void cleanLogFile() {
@@ -87,7 +116,9 @@ public class RestRepositoryTest extends RestRepositoryTestConfiguration {
         restClientExecutor.set(mock(RestClientService.class));
         requestBase.set(mock(HttpUriRequestBase.class));
         response.set(mock(ClassicHttpResponse.class));
-        repository.set(spy(new RestRepository(miaContext.get(), restClientExecutor.get(), metricsService)));
+        repository.set(spy(new RestRepository(miaContext.get(), restClientExecutor.get(), metricsService,
+                mock(PostScriptService.class), pollingScheduler,
+                mock(RequestLogWriter.class)))));
         // construct
         command.set(new Command());
         command.get().setSystem(Constants.DEFAULT_SYSTEM_NAME);
@@ -137,15 +168,113 @@ public class RestRepositoryTest extends RestRepositoryTestConfiguration {
     }
 
     @Test
-    public void when_checkForTextForIncorrectBody_then_restClientExecutor4times() {
+    public void when_checkForTextForIncorrectBody_then_restClientExecutorOnceAndPolled3times() {
         doReturn(new AbstractMap.SimpleEntry<>(new File("./logs/tests/" + "test.txt"), "bodytest")).when(repository.get()).getResponseBody(
                 eq(command.get()), any(ClassicHttpResponse.class));
+        BasicClassicHttpResponse pollingResponse = new BasicClassicHttpResponse(200, "OK");
+        pollingResponse.setHeader(HEADER_CONTENT_TYPE, ContentType.TEXT_PLAIN.getMimeType());
+        pollingResponse.setEntity(new StringEntity("bodytest", ContentType.TEXT_PLAIN));
+        when(restClientExecutor.get().prepareAsyncRestClient(any(), anyBoolean(), anyMap()))
+                .thenReturn(mock(CloseableHttpAsyncClient.class));
+        when(restClientExecutor.get().executeRestRequestAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(pollingResponse));
         rest.get().setParseResponseAsTable(false);
-        rest.get().setRestLoopParameters(RestLoopParameters.builder().textToCheck("incorrect").build());
+        rest.get().setRestLoopParameters(RestLoopParameters.builder().textToCheck("incorrect").timeoutRepeats(1).build());
         CommandResponse commandResponse = repository.get().sendRestRequest(command.get());
         Assertions.assertNotNull(commandResponse);
         Assertions.assertInstanceOf(IllegalArgumentException.class, commandResponse.getErrors().getFirst());
-        verify(restClientExecutor.get(), times(4)).executeRestRequest(any(HttpClient.class), any(HttpUriRequestBase.class));
+        Assertions.assertTrue(commandResponse.getConnectionInfo().get("pollingHistory").contains("Attempt 3"));
+        verify(restClientExecutor.get(), times(1)).executeRestRequest(any(HttpClient.class), any(HttpUriRequestBase.class));
+        verify(restClientExecutor.get(), times(3)).executeRestRequestAsync(any(), any(HttpUriRequestBase.class));
+    }
+
+    @Test
+    public void when_checkForTextFoundDuringPolling_then_pollingStopped() {
+        doReturn(new AbstractMap.SimpleEntry<>(new File("./logs/tests/" + "test.txt"), "pending")).when(repository.get()).getResponseBody(
+                eq(command.get()), any(ClassicHttpResponse.class));
+        BasicClassicHttpResponse pollingResponse = new BasicClassicHttpResponse(200, "OK");
+        pollingResponse.setHeader(HEADER_CONTENT_TYPE, ContentType.TEXT_PLAIN.getMimeType());
+        pollingResponse.setEntity(new StringEntity("completed", ContentType.TEXT_PLAIN));
+        when(restClientExecutor.get().prepareAsyncRestClient(any(), anyBoolean(), anyMap()))
+                .thenReturn(mock(CloseableHttpAsyncClient.class));
+        when(restClientExecutor.get().executeRestRequestAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(pollingResponse));
+        rest.get().setParseResponseAsTable(false);
+        rest.get().setRestLoopParameters(RestLoopParameters.builder().textToCheck("completed").timeoutRepeats(1)
+                .checkTextInHeaders(false).build());
+        CommandResponse commandResponse = repository.get().sendRestRequest(command.get());
+        Assertions.assertNull(commandResponse.getErrors());
+        Assertions.assertTrue(commandResponse.getConnectionInfo().get("pollingStatus").contains("ReTried Count : 1 / 3"));
+        verify(restClientExecutor.get(), times(1)).executeRestRequestAsync(any(), any(HttpUriRequestBase.class));
+    }
+
+    @Test
+    public void when_compressedPollingResponseExceedsMaxBodySize_then_wholeBodyIsSavedToLog() throws IOException {
+        doReturn(new AbstractMap.SimpleEntry<>(new File("./logs/tests/" + "test.txt"), "pending"))
+                .doCallRealMethod()
+                .when(repository.get()).getResponseBody(eq(command.get()), any(ClassicHttpResponse.class));
+        final String body = "completed" + "a".repeat(100000);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        BasicClassicHttpResponse pollingResponse = new BasicClassicHttpResponse(200, "OK");
+        pollingResponse.setHeader(HEADER_CONTENT_TYPE, ContentType.TEXT_PLAIN.getMimeType());
+        pollingResponse.setHeader(HttpHeaders.CONTENT_ENCODING, HttpCompression.GZIP);
+        pollingResponse.setEntity(new ByteArrayEntity(compressed.toByteArray(), ContentType.TEXT_PLAIN));
+        HttpCompression.decompressResponse(pollingResponse);
+        when(restClientExecutor.get().prepareAsyncRestClient(any(), anyBoolean(), anyMap()))
+                .thenReturn(mock(CloseableHttpAsyncClient.class));
+        when(restClientExecutor.get().executeRestRequestAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(pollingResponse));
+        repository.get().maxBodySize = 1000;
+        rest.get().setParseResponseAsTable(false);
+        rest.get().setRestLoopParameters(RestLoopParameters.builder().textToCheck("completed").timeoutRepeats(1)
+                .checkTextInHeaders(false).build());
+        CommandResponse commandResponse = repository.get().sendRestRequest(command.get());
+        Assertions.assertNull(commandResponse.getErrors());
+        Assertions.assertEquals(body, FileUtils.readFileToString(
+                new File(commandResponse.getCommandOutputs().getFirst().getInternalPathToFile()),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void when_windowedResponsesExceedMaxBodySize_then_wholeBodiesAreSavedToLog() throws Exception {
+        final String body = "a".repeat(1_000_000);
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add(HEADER_CONTENT_TYPE, ContentType.TEXT_PLAIN.getMimeType());
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        httpServer.start();
+        RestClientService asyncService = new RestClientService(miaContext.get(), mock(RestClientPool.class));
+        HttpGet request = new HttpGet("http://localhost:" + httpServer.getAddress().getPort() + "/");
+        try (CloseableHttpAsyncClient asyncClient = HttpAsyncClients.createDefault()) {
+            asyncClient.start();
+            when(restClientExecutor.get().prepareAsyncRestClient(any(), anyBoolean(), anyMap()))
+                    .thenReturn(asyncClient);
+            when(restClientExecutor.get().executeRestRequestAsync(any(), any()))
+                    .thenAnswer(invocation -> asyncService.executeRestRequestAsync(asyncClient, request));
+            when(restClientExecutor.get().awaitRestResponse(any(), any()))
+                    .thenAnswer(invocation -> ((CompletableFuture<ClassicHttpResponse>) invocation.getArgument(0))
+                            .get(30, TimeUnit.SECONDS));
+            repository.get().maxBodySize = 1000;
+            rest.get().setParseResponseAsTable(false);
+            List<PendingRestRequest> window = List.of(repository.get().sendRestRequestAsync(command.get()),
+                    repository.get().sendRestRequestAsync(command.get()),
+                    repository.get().sendRestRequestAsync(command.get()));
+            for (PendingRestRequest pending : window) {
+                CommandResponse commandResponse = repository.get().awaitRestResponse(pending);
+                File log = new File(commandResponse.getCommandOutputs().getFirst().getInternalPathToFile());
+                Assertions.assertEquals(body.length(), log.length());
+            }
+        } finally {
+            httpServer.stop(0);
+        }
     }
 
     @Test
@@ -293,6 +422,58 @@ public class RestRepositoryTest extends RestRepositoryTestConfiguration {
         Assertions.assertEquals(expected, result.getValue());
     }
 
+    @Test
+    public void when_responseExceedsMaxBodySize_getResponseBody_shouldKeepBeginningOnly() throws IOException {
+        final String body = "{\"message\":\"large response\"}";
+        ClassicHttpResponse response = Mockito.mock(ClassicHttpResponse.class);
+        Header[] headers =
+                new Header[]{new BasicHeader("Content-Type", ContentType.APPLICATION_JSON.getMimeType())};
+        HttpEntity entity = EntityBuilder.create()
+                .setContentType(ContentType.APPLICATION_JSON)
+                .setStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+                .chunked()
+                .build();
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.getEntity()).thenReturn(entity);
+        repository.get().maxBodySize = 10;
+        Map.Entry<File, String> result = repository.get().getResponseBody(command.get(), response);
+        Assertions.assertEquals(body.substring(0, 10), result.getValue());
+        Assertions.assertEquals(body, FileUtils.readFileToString(result.getKey(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void when_parseResponseAsTable_shouldReadColumnsAndDataWithLink() throws IOException {
+        String responseStr = "{\"status\":{\"code\":0},\"table\":{\"columns\":[\"ID\",\"STATUS\"],"
+                + "\"data\":[[\"1\",\"PASSED\"],[2,null]]},\"file\":\"http://host/uploads/report.xlsx\"}";
+        createLogFile(logFile.get().getPath(), responseStr);
+        SqlResponse sqlResponse = repository.get().parseResponseAsTable(logFile.get(), true);
+        Assertions.assertNotNull(sqlResponse);
+        Assertions.assertEquals(List.of("ID", "STATUS"), sqlResponse.getData().getColumns());
+        Assertions.assertEquals(Arrays.asList(List.of("1", "PASSED"), Arrays.asList("2", null)),
+                sqlResponse.getData().getData());
+        Assertions.assertEquals("report.xlsx", sqlResponse.getLink().getName());
+    }
+
+    @Test
+    public void when_parseResponseAsTableWithArrayOfObjects_shouldLimitRows() throws IOException {
+        createLogFile(logFile.get().getPath(), "[{\"id\":\"1\"},{\"id\":\"2\",\"status\":\"OK\"}]");
+        repository.get().dbExecutionRecordsLimit = 1;
+        SqlResponse sqlResponse = repository.get().parseResponseAsTable(logFile.get(), false);
+        Assertions.assertNotNull(sqlResponse);
+        Assertions.assertEquals(List.of("id", "status"), sqlResponse.getData().getColumns());
+        Assertions.assertEquals(1, sqlResponse.getRecords());
+        Assertions.assertEquals(2, sqlResponse.getData().getActualDataSizeBeforeLimit());
+        Assertions.assertNotNull(sqlResponse.getLimitRecordsMessage());
+    }
+
+    @Test
+    public void when_parseResponseAsTableWithoutTable_shouldReturnNull() throws IOException {
+        createLogFile(logFile.get().getPath(), "{\"table\":{\"columns\":[\"ID\"]},\"file\":\"link\"}");
+        Assertions.assertNull(repository.get().parseResponseAsTable(logFile.get(), true));
+        createLogFile(logFile.get().getPath(), "\"text\"");
+        Assertions.assertNull(repository.get().parseResponseAsTable(logFile.get(), true));
+    }
+
     @Test
     public void when_restLoopParametersTextToEvaluate_executeRest_shouldEvaluate() {
         // expect
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -51,6 +52,7 @@ import org.qubership.atp.mia.ConfigTestBean;
 import org.qubership.atp.mia.SkipTestInJenkins;
 import org.qubership.atp.mia.model.impl.FlowData;
 import org.qubership.atp.mia.model.impl.executable.Command;
+import org.qubership.atp.mia.model.impl.output.CommandOutput;
 import org.qubership.atp.mia.repo.impl.pool.ssh.SshSessionPool;
 
 @ExtendWith(SkipTestInJenkins.class)
@@ -149,6 +151,25 @@ public class ShellRepositoryTest extends ConfigTestBean {
         flowData.removeParameter(WORKING_DIRECTORY.toString());
     }
 
+    @Test
+    public void executeAndGetLog_whenOutputStreamingUsed_thenLogIsNotDownloaded() {
+        FlowData flowData = miaContext.get().getFlowData();
+        flowData.addParameter(ACCOUNT_NUMBER, accountNumber);
+        flowData.addParameter(WORKING_DIRECTORY, "");
+        flowData.addParameter("param1", "value1");
+        flowData.addParameter("processName", "Process Name");
+        when(sshConnectionManager.get().isOutputStreamingUsed()).thenReturn(true);
+        CommandOutput output = repository.get().executeAndGetLog(command).getCommandOutputs().getFirst();
+        verify(sshConnectionManager.get(), times(1)).executeCommand(matches("(?s).*\necho value1 2>&1"),
+                any(SshOutputCapture.class));
+        verify(sshConnectionManager.get(), never()).runCommand(anyString());
+        verify(sshConnectionManager.get(), never()).getFileFromServer(anyString(), anyString());
+        Assertions.assertTrue(output.getInternalPathToFile().startsWith(miaContext.get().getLogPath().toString()));
+        Assertions.assertTrue(new File(output.getInternalPathToFile()).exists());
+        flowData.removeParameter(ACCOUNT_NUMBER.toString());
+        flowData.removeParameter(WORKING_DIRECTORY.toString());
+    }
+
     @Test
     public void transferFileOnServer() {
         final Command command = new Command("name", "SSH", systemName, listToSet("echo :param1", "ls -l"));
@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sshd.server.SshServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.qubership.atp.mia.ConfigTestBean;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.model.impl.FlowData;
+import org.qubership.atp.mia.repo.impl.pool.ssh.SshSessionPool;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local benchmark of SSH layer.
+ * Embedded SSH/SFTP server is started in-process, so pool, commands and transfers
+ * are measured without real environment and network.
+ * Benchmark is skipped unless {@code -DsshBenchmark=true} is set, load is configured by system properties:
+ * <ul>
+ *     <li>{@code sshBenchmark.concurrency} - amount of parallel workers, default 8</li>
+ *     <li>{@code sshBenchmark.iterations} - amount of operations per scenario, default 200</li>
+ *     <li>{@code sshBenchmark.outputLines} - amount of lines printed by command, default 1000</li>
+ *     <li>{@code sshBenchmark.files} - amount of files per upload / download, default 5</li>
+ *     <li>{@code sshBenchmark.fileSizeKb} - size of each file in KB, default 256</li>
+ *     <li>{@code sshBenchmark.execChannel} - whether exec channel is used instead of shell, default true</li>
+ * </ul>
+ * Throughput and latency percentiles of each scenario are written to log.
+ */
+@Slf4j
+@EnabledOnOs({OS.LINUX, OS.MAC})
+@EnabledIfSystemProperty(named = "sshBenchmark", matches = "true")
+@Execution(ExecutionMode.SAME_THREAD)
+public class SshConnectionManagerBenchmarkTest extends ConfigTestBean {
+
+    private static final int CONCURRENCY = Integer.getInteger("sshBenchmark.concurrency", 8);
+    private static final int ITERATIONS = Integer.getInteger("sshBenchmark.iterations", 200);
+    private static final int OUTPUT_LINES = Integer.getInteger("sshBenchmark.outputLines", 1000);
+    private static final int FILES = Integer.getInteger("sshBenchmark.files", 5);
+    private static final int FILE_SIZE_KB = Integer.getInteger("sshBenchmark.fileSizeKb", 256);
+    private static final String EXEC_CHANNEL = System.getProperty("sshBenchmark.execChannel", "true");
+
+    @TempDir
+    Path tempDir;
+    private SshServer sshServer;
+    private SshSessionPool sshSessionPool;
+    private Server server;
+    private Path remoteDir;
+    private List<File> localFiles;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        remoteDir = Files.createDirectories(tempDir.resolve("remote"));
+        sshServer = EmbeddedSshServer.start(tempDir);
+        server = EmbeddedSshServer.server(sshServer, "benchmark", Map.of("ssh_execChannel", EXEC_CHANNEL));
+        sshSessionPool = new SshSessionPool("300", "30000", miaContext.get());
+        localFiles = new ArrayList<>(FILES);
+        final Path localDir = Files.createDirectories(tempDir.resolve("local"));
+        final byte[] content = new byte[FILE_SIZE_KB * 1024];
+        new Random(42).nextBytes(content);
+        for (int i = 0; i < FILES; i++) {
+            localFiles.add(Files.write(localDir.resolve("file_" + i + ".bin"), content).toFile());
+        }
+        log.info("Embedded SSH server started on port {}: concurrency {}, iterations {}, output lines {}, "
+                        + "files {} x {} KB, exec channel {}", sshServer.getPort(), CONCURRENCY, ITERATIONS,
+                OUTPUT_LINES, FILES, FILE_SIZE_KB, EXEC_CHANNEL);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        if (sshSessionPool != null) {
+            sshSessionPool.shutdown();
+        }
+        if (sshServer != null) {
+            sshServer.stop(true);
+        }
+    }
+
+    @Test
+    public void runCommand() throws Exception {
+        final String command = "seq 1 " + OUTPUT_LINES;
+        run("runCommand", worker -> {
+            String output = sshSessionPool.getConnection(server, "").runCommand(command);
+            assertTrue(output.contains(String.valueOf(OUTPUT_LINES)), "Command output is incomplete");
+        });
+    }
+
+    @Test
+    public void uploadFileOnServer() throws Exception {
+        final String workingDirectory = remoteDir.toString();
+        run("uploadFileOnServer", worker -> {
+            final String destination = remoteDir.resolve("upload_" + worker).toString();
+            final SshConnectionManager manager = sshSessionPool.getConnection(server, "");
+            for (File file : localFiles) {
+                manager.uploadFileOnServer(file, destination, workingDirectory);
+            }
+        });
+        assertEquals(FILES, remoteDir.resolve("upload_0").toFile().list().length);
+    }
+
+    @Test
+    public void getFileFromServer() throws Exception {
+        final String workingDirectory = remoteDir.toString();
+        for (int worker = 0; worker < CONCURRENCY; worker++) {
+            final Path dir = Files.createDirectories(remoteDir.resolve("download_" + worker));
+            for (File file : localFiles) {
+                Files.copy(file.toPath(), dir.resolve(worker + "_" + file.getName()));
+            }
+        }
+        run("getFileFromServer", worker -> {
+            final SshConnectionManager manager = sshSessionPool.getConnection(server, "");
+            for (File file : localFiles) {
+                final String path = remoteDir.resolve("download_" + worker)
+                        .resolve(worker + "_" + file.getName()).toString();
+                assertEquals(file.length(), manager.getFileFromServer(path, workingDirectory).length());
+            }
+        });
+    }
+
+    /**
+     * Executes operation {@link #ITERATIONS} times by {@link #CONCURRENCY} workers
+     * and logs throughput and latency percentiles.
+     * Each worker gets its own number, so workers don't share files.
+     */
+    private void run(String scenario, Operation operation) throws Exception {
+        final FlowData flowData = miaContext.get().getFlowData();
+        // warm up: session is opened and JIT is not measured
+        operation.execute(0);
+        final long[] latencies = new long[ITERATIONS];
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        final long start = System.nanoTime();
+        try {
+            final List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                final int workerId = worker;
+                futures.add(executor.submit(() -> {
+                    contextRepository.setContext(flowData);
+                    try {
+                        for (int i = workerId; i < ITERATIONS; i += CONCURRENCY) {
+                            final long operationStart = System.nanoTime();
+                            operation.execute(workerId);
+                            latencies[i] = System.nanoTime() - operationStart;
+                        }
+                    } finally {
+                        contextRepository.removeContext();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        final long totalNanos = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        log.info("[{}] {} operations in {} ms, throughput {} ops/s, latency ms: p50 {}, p90 {}, p99 {}, max {}",
+                scenario, ITERATIONS, TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                String.format("%.1f", ITERATIONS * 1e9 / totalNanos),
+                millis(percentile(latencies, 50)), millis(percentile(latencies, 90)),
+                millis(percentile(latencies, 99)), millis(latencies[latencies.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void execute(int worker) throws Exception;
+    }
+}
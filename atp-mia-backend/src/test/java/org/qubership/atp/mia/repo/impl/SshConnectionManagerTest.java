@@ -0,0 +1,292 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
+import org.apache.sshd.server.SshServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.mia.ConfigTestBean;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.model.file.FileFingerprint;
+import org.qubership.atp.mia.repo.impl.pool.ssh.SshSessionPool;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+/**
+ * Tests of SSH commands against embedded SSH/SFTP server, commands are executed by local '/bin/sh'.
+ */
+@EnabledOnOs({OS.LINUX, OS.MAC})
+public class SshConnectionManagerTest extends ConfigTestBean {
+
+    @TempDir
+    Path tempDir;
+    private SshServer sshServer;
+    private SshSessionPool sshSessionPool;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        sshServer = EmbeddedSshServer.start(tempDir);
+        sshSessionPool = new SshSessionPool("300", "30000", miaContext.get());
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        if (sshSessionPool != null) {
+            sshSessionPool.shutdown();
+        }
+        if (sshServer != null) {
+            sshServer.stop(true);
+        }
+    }
+
+    private SshConnectionManager connection(Map<String, String> additionalParameters) {
+        return sshSessionPool.getConnection(server(additionalParameters), "");
+    }
+
+    private Server server(Map<String, String> additionalParameters) {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("ssh_execChannel", "true");
+        parameters.put("ssh_pty", "false");
+        parameters.putAll(additionalParameters);
+        return EmbeddedSshServer.server(sshServer, "ssh", parameters);
+    }
+
+    private void closeSessionsOnServer() {
+        sshServer.getActiveSessions().forEach(session -> session.close(true));
+    }
+
+    private static void awaitDisconnect(SshSession session) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (session.isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(session.isConnected());
+    }
+
+    @Test
+    public void runCommand_returnsWholeOutput() {
+        final String output = connection(Map.of()).runCommand("seq 1 500");
+        final String[] lines = output.split("\n");
+        assertEquals(500, lines.length);
+        assertEquals("1", lines[0]);
+        assertEquals("500", lines[499]);
+    }
+
+    @Test
+    public void executeCommand_returnsExitStatusAndSeparateStreams() {
+        final SshExecResult result = connection(Map.of()).executeCommand("echo out; echo err >&2; exit 3");
+        assertEquals("echo out; echo err >&2; exit 3", result.getCommand());
+        assertEquals(3, result.getExitStatus());
+        assertEquals("out\n", result.getStdout());
+        assertEquals("err\n", result.getStderr());
+    }
+
+    @Test
+    public void executeCommand_keepsResultOfEveryConcurrentCommand() throws Exception {
+        final SshConnectionManager manager = connection(Map.of());
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<SshExecResult>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                final String command = "sleep 0.5; echo " + i + "; exit " + i;
+                results.add(executor.submit(() -> manager.executeCommand(command)));
+            }
+            for (int i = 0; i < 2; i++) {
+                final SshExecResult result = results.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals("sleep 0.5; echo " + i + "; exit " + i, result.getCommand());
+                assertEquals(i, result.getExitStatus());
+                assertEquals(i + "\n", result.getOutput());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void uploadFilesOnServer_skipsAllFilesWithSameChecksum() throws IOException {
+        // md5sum output of all candidates is parsed, so it should not be cut
+        final Path remoteDir = Files.createDirectories(tempDir.resolve("remote"));
+        final Path localDir = Files.createDirectories(tempDir.resolve("local"));
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < SshOutputCapture.DEFAULT_TAIL_LINES + 10; i++) {
+            final Path file = Files.writeString(localDir.resolve("file_" + i + ".txt"), "content " + i);
+            Files.copy(file, remoteDir.resolve(file.getFileName()));
+            files.add(file.toFile());
+        }
+        final SshUploadResult result = connection(Map.of("ssh_skipUnchangedUploads", "true",
+                "ssh_uploadChecksum", "true"))
+                .uploadFilesOnServer(files, remoteDir.toString(), remoteDir.toString(),
+                        SshConnectionManagerTest::fingerprint);
+        assertEquals(files.size(), result.getSkipped().size());
+        assertEquals(0, result.getUploaded().size());
+    }
+
+    @Test
+    public void transferFilesOnServer_returnsStatusOfEveryFile() throws IOException {
+        final Path source = Files.writeString(tempDir.resolve("source.txt"), "content");
+        final Path target = Files.createDirectories(tempDir.resolve("target"));
+        final int[] statuses = connection(Map.of()).transferFilesOnServer(
+                List.of(source.toString(), tempDir.resolve("absent.txt").toString()), target.toString());
+        assertEquals(0, statuses[0]);
+        assertNotEquals(0, statuses[1]);
+        assertEquals("content", Files.readString(target.resolve("source.txt")));
+    }
+
+    @Test
+    public void transferFilesOnServer_returnsMinusOne_whenResultIsNotReceived() throws IOException {
+        final Path target = Files.createDirectories(tempDir.resolve("target"));
+        // script is finished before result is printed
+        final int[] statuses = connection(Map.of()).transferFilesOnServer(
+                List.of(tempDir.resolve("file.txt") + "; exit 0"), target.toString());
+        assertArrayEquals(new int[]{-1}, statuses);
+    }
+
+    @Test
+    public void getFileFromServer_stitchesHeadAndTail_whenFileIsBiggerThanThem() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        final String fileContent = content.toString();
+        final Path source = Files.writeString(tempDir.resolve("command.log"), fileContent);
+        final Path workDir = Files.createDirectories(tempDir.resolve("work"));
+        final File file = connection(Map.of()).getFileFromServer(source.toString(), workDir.toString(), 100, 200);
+        assertEquals("command_truncated.log", file.getName());
+        final int size = fileContent.length();
+        final int tailStart = fileContent.indexOf('\n', size - 200) + 1;
+        final String expected = fileContent.substring(0, 100) + System.lineSeparator()
+                + "... log is truncated: %d of %d bytes are skipped, full log is %s on server ...%n"
+                .formatted(size - 300, size, source)
+                + fileContent.substring(tailStart);
+        assertEquals(expected, Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void getFileFromServer_downloadsFullFile_whenFileIsNotBiggerThanHeadAndTail() throws IOException {
+        final Path source = Files.writeString(tempDir.resolve("small.log"), "line 1\nline 2\n");
+        final Path workDir = Files.createDirectories(tempDir.resolve("work"));
+        final File file = connection(Map.of()).getFileFromServer(source.toString(), workDir.toString(), 100, 200);
+        assertEquals("small.log", file.getName());
+        assertEquals("line 1\nline 2\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void keepAlive_reconnectsSession_whenItWasClosedByServer() throws InterruptedException {
+        final AtomicInteger createdSessions = new AtomicInteger();
+        sshServer.addSessionListener(new SessionListener() {
+            @Override
+            public void sessionCreated(Session session) {
+                createdSessions.incrementAndGet();
+            }
+        });
+        final SshSession session = new SshSession(server(Map.of()), null);
+        session.createSession(1);
+        closeSessionsOnServer();
+        awaitDisconnect(session);
+        assertTrue(session.keepAlive(60000));
+        assertTrue(session.isConnected());
+        assertEquals(2, createdSessions.get());
+    }
+
+    @Test
+    public void keepAlive_returnsFalse_whenSessionCantBeReconnected() throws IOException, InterruptedException {
+        final SshSession session = new SshSession(server(Map.of()), null);
+        session.createSession(1);
+        sshServer.stop(true);
+        awaitDisconnect(session);
+        assertFalse(session.keepAlive(60000));
+        assertFalse(session.isConnected());
+    }
+
+    @Test
+    public void keepAlive_doesNotReconnectSession_whenItIsNotUsedForLongTime() throws InterruptedException {
+        final SshSession session = new SshSession(server(Map.of()), null);
+        session.createSession(1);
+        closeSessionsOnServer();
+        awaitDisconnect(session);
+        Thread.sleep(10);
+        assertTrue(session.keepAlive(1));
+        assertFalse(session.isConnected());
+    }
+
+    @Test
+    public void checkSessionsHealth_reconnectsSessionOnDedicatedThread() throws Exception {
+        final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        final Logger logger = (Logger) LoggerFactory.getLogger(SshSession.class);
+        logger.addAppender(appender);
+        try {
+            connection(Map.of()).runCommand("echo 1");
+            closeSessionsOnServer();
+            final long deadline = System.currentTimeMillis() + 10000;
+            List<ILoggingEvent> reconnected = List.of();
+            while (reconnected.isEmpty() && System.currentTimeMillis() < deadline) {
+                sshSessionPool.checkSessionsHealth().get(30, TimeUnit.SECONDS);
+                reconnected = appender.list.stream()
+                        .filter(event -> event.getFormattedMessage().endsWith(" reconnected"))
+                        .toList();
+            }
+            assertEquals(1, reconnected.size());
+            assertTrue(reconnected.get(0).getThreadName().startsWith("mia_sshHealthCheck_"));
+            assertEquals(1, sshServer.getActiveSessions().size());
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    private static FileFingerprint fingerprint(File file) {
+        try {
+            final byte[] md5 = MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file.toPath()));
+            return new FileFingerprint(file.length(), file.lastModified(), HexFormat.of().formatHex(md5));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SshOutputCaptureTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void accept_keepsOnlyTailInMemory_andWritesAllLinesToFile() throws IOException {
+        final Path file = tempDir.resolve("out").resolve("output.log");
+        try (SshOutputCapture capture = new SshOutputCapture(file, 2)) {
+            capture.accept("line1");
+            capture.accept("line2");
+            capture.accept("line3");
+            assertEquals("line2\nline3\n", capture.getTail());
+            assertEquals(3, capture.getLinesCount());
+        }
+        assertEquals(List.of("line1", "line2", "line3"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void lineSink_splitsBytesIntoLines() throws IOException {
+        try (SshOutputCapture capture = new SshOutputCapture()) {
+            try (OutputStream sink = capture.lineSink()) {
+                sink.write("first\r\nsec".getBytes(StandardCharsets.UTF_8));
+                sink.write("ond\nlast".getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals("first\nsecond\nlast\n", capture.getTail());
+            assertEquals(3, capture.getLinesCount());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Server;
+
+public class HttpCompressionTest {
+
+    private static final String BODY = "{\"data\":\"" + "value ".repeat(100) + "\"}";
+
+    private static Server server(String compression) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("url", "http://localhost:8080");
+        parameters.put("compression", compression);
+        return new Server(Connection.builder()
+                .sourceTemplateId(Connection.SourceTemplateId.HTTP.id)
+                .parameters(parameters)
+                .build(), "HTTP");
+    }
+
+    @Test
+    public void prepareRequest_compressesBody_whenGzipConfigured() throws IOException {
+        HttpPost request = new HttpPost("http://localhost:8080");
+        request.setEntity(new StringEntity(BODY, ContentType.APPLICATION_JSON));
+        HttpCompression.prepareRequest(request, server("GZIP"));
+        assertEquals("gzip", request.getEntity().getContentEncoding());
+        assertEquals(ContentType.APPLICATION_JSON.toString(), request.getEntity().getContentType());
+        assertEquals("gzip, x-gzip, deflate", request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING).getValue());
+        try (GZIPInputStream in = new GZIPInputStream(request.getEntity().getContent())) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void prepareRequest_keepsBodyAndAcceptsCompressedResponse_whenCompressionNotConfigured()
+            throws IOException {
+        HttpPost request = new HttpPost("http://localhost:8080");
+        request.setEntity(new StringEntity(BODY, ContentType.APPLICATION_JSON));
+        HttpCompression.prepareRequest(request, server(null));
+        assertNull(request.getEntity().getContentEncoding());
+        assertEquals("gzip, x-gzip, deflate", request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING).getValue());
+    }
+
+    @Test
+    public void prepareRequest_doesNothing_whenCompressionDisabled() throws IOException {
+        HttpPost request = new HttpPost("http://localhost:8080");
+        request.setEntity(new StringEntity(BODY, ContentType.APPLICATION_JSON));
+        HttpCompression.prepareRequest(request, server("none"));
+        assertNull(request.getEntity().getContentEncoding());
+        assertFalse(request.containsHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    public void decompressResponse_decompressesGzipBodyWhileReading() throws IOException, ParseException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        response.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(compressed.size()));
+        response.setEntity(new ByteArrayEntity(compressed.toByteArray(), ContentType.APPLICATION_JSON));
+        HttpCompression.decompressResponse(response);
+        assertFalse(response.containsHeader(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(response.containsHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(BODY, EntityUtils.toString(response.getEntity()));
+        // repeatable body can be read again
+        assertEquals(BODY, EntityUtils.toString(response.getEntity()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void decompressResponse_decompressesDeflateBody_withAndWithoutZlibWrapper(boolean raw)
+            throws IOException, ParseException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed,
+                new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        response.addHeader(HttpHeaders.CONTENT_ENCODING, "deflate");
+        response.setEntity(new ByteArrayEntity(compressed.toByteArray(), ContentType.APPLICATION_JSON));
+        HttpCompression.decompressResponse(response);
+        assertFalse(response.containsHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, EntityUtils.toString(response.getEntity()));
+    }
+
+    @Test
+    public void decompressResponse_closesWrappedContent_whenCompressedHeaderIsBroken() {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayInputStream content = new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        response.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setEntity(new InputStreamEntity(content, ContentType.APPLICATION_JSON));
+        HttpCompression.decompressResponse(response);
+        assertThrows(IOException.class, () -> response.getEntity().getContent());
+        assertTrue(closed.get());
+    }
+}
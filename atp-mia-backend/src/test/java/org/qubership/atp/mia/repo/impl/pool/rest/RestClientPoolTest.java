@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Server;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class RestClientPoolTest {
+
+    private static final UUID SYSTEM_ID = UUID.randomUUID();
+    private RestClientPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new RestClientPool(10, 5, 300);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.destroy();
+    }
+
+    private static Server server(String url) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("url", url);
+        return new Server(Connection.builder()
+                .systemId(SYSTEM_ID)
+                .sourceTemplateId(Connection.SourceTemplateId.HTTP.id)
+                .parameters(parameters)
+                .build(), "HTTP");
+    }
+
+    @Test
+    public void getClient_returnsSharedClientForSameServerAndProfile() {
+        CloseableHttpClient client = pool.getClient(server("http://localhost:8080"), false, 1000);
+        assertSame(client, pool.getClient(server("http://localhost:8080"), false, 1000));
+        assertNotSame(client, pool.getClient(server("http://localhost:8080"), true, 1000));
+        assertNotSame(client, pool.getClient(server("http://localhost:8080"), false, 2000));
+        assertEquals(3, pool.size());
+        assertTrue(pool.getStatistics().values().stream().allMatch(stats -> stats.getMax() == 10));
+    }
+
+    @Test
+    public void getClient_retiresClientsOfServerWithChangedParameters() {
+        pool.getClient(server("http://localhost:8080"), false, 1000);
+        pool.getClient(server("http://localhost:8080"), true, 1000);
+        pool.getClient(server("http://localhost:9090"), false, 1000);
+        assertEquals(1, pool.size());
+        assertEquals("http://localhost:9090",
+                pool.getStatistics().keySet().iterator().next().getServer().getProperty("url"));
+    }
+
+    @Test
+    public void getAsyncClient_isSharedSeparatelyFromClassicClient() {
+        CloseableHttpAsyncClient client = pool.getAsyncClient(server("http://localhost:8080"), false, 1000);
+        assertSame(client, pool.getAsyncClient(server("http://localhost:8080"), false, 1000));
+        pool.getClient(server("http://localhost:8080"), false, 1000);
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void getSoapClient_isSharedSeparatelyFromRestClient() {
+        CloseableHttpClient client = pool.getSoapClient(server("http://localhost:8080"), 1000);
+        assertSame(client, pool.getSoapClient(server("http://localhost:8080"), 1000));
+        assertNotSame(client, pool.getClient(server("http://localhost:8080"), true, 1000));
+        assertEquals(2, pool.size());
+        assertTrue(pool.getStatistics().keySet().stream().anyMatch(RestClientKey::isSoap));
+    }
+
+    @Test
+    public void resetCache_removesAllClients() {
+        pool.getClient(server("http://localhost:8080"), false, 1000);
+        pool.resetCache();
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void resetCache_keepsRetiredClientUsableByCallerWhichGotItBefore() throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        httpServer.start();
+        try {
+            String url = "http://localhost:" + httpServer.getAddress().getPort() + "/";
+            CloseableHttpClient client = pool.getClient(server(url), false, 1000);
+            pool.resetCache();
+            pool.cleanUp();
+            assertEquals(200, (int) client.execute(new HttpGet(url), response -> {
+                EntityUtils.consume(response.getEntity());
+                return response.getCode();
+            }));
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    @Test
+    public void getClient_doesNotKeepCookiesBetweenRequests() throws IOException {
+        AtomicReference<String> cookie = new AtomicReference<>();
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            cookie.set(exchange.getRequestHeaders().getFirst("Cookie"));
+            exchange.getResponseHeaders().add("Set-Cookie", "session=user1; Path=/");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        httpServer.start();
+        try {
+            String url = "http://localhost:" + httpServer.getAddress().getPort() + "/";
+            CloseableHttpClient client = pool.getClient(server(url), false, 1000);
+            for (int i = 0; i < 2; i++) {
+                client.execute(new HttpGet(url), response -> {
+                    EntityUtils.consume(response.getEntity());
+                    return response.getCode();
+                });
+            }
+            assertNull(cookie.get());
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+}
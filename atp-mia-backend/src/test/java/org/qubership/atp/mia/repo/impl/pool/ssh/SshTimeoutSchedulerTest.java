@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.repo.impl.pool.ssh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SshTimeoutSchedulerTest {
+
+    private SshTimeoutScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        // small wheel to check timeouts which take several rounds
+        scheduler = new SshTimeoutScheduler("test_timeout", 5, 4, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    public void schedule_firesTaskAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        SshTimeoutScheduler.Timeout timeout = scheduler.schedule(latch::countDown, 60, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 60);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(1, scheduler.getFiredCount());
+        assertEquals(0, scheduler.getActiveCount());
+    }
+
+    @Test
+    public void cancel_preventsExecution() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        SshTimeoutScheduler.Timeout timeout = scheduler.schedule(executions::incrementAndGet, 50,
+                TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        Thread.sleep(150);
+        assertEquals(0, executions.get());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+        assertEquals(1, scheduler.getCancelledCount());
+        assertEquals(0, scheduler.getFiredCount());
+    }
+
+    @Test
+    public void scheduleWithFixedDelay_repeatsUntilCancelled() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        SshTimeoutScheduler.Timeout timeout = scheduler.scheduleWithFixedDelay(latch::countDown, 0, 10,
+                TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+        long fired = scheduler.getFiredCount();
+        Thread.sleep(100);
+        assertTrue(scheduler.getFiredCount() <= fired + 1);
+    }
+}
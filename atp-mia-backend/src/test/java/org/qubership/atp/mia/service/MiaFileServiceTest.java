@@ -25,6 +25,7 @@ import static org.mockito.Mockito.verify;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.qubership.atp.mia.exceptions.MiaException;
 import org.qubership.atp.mia.exceptions.fileservice.ReadFailFileNotFoundException;
+import org.qubership.atp.mia.model.file.FileFingerprint;
 import org.qubership.atp.mia.model.file.ProjectFileType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
@@ -94,4 +96,35 @@ public class MiaFileServiceTest extends BaseUnitTestConfiguration {
         Assertions.assertTrue(dest.exists());
         verify(gridFsService.get(), times(1)).uploadFile(any(), eq(dest));
     }
+
+    @Test
+    public void getFingerprint_whenFileIsChanged_thenHashIsRecalculated() throws IOException {
+        final File file = miaContext.get().getProjectPathWithType(ProjectFileType.MIA_FILE_TYPE_UPLOAD)
+                .resolve("fingerprint.txt").toFile();
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), "content");
+        final FileFingerprint fingerprint = miaFileService.get().getFingerprint(file, true);
+        Assertions.assertEquals(7, fingerprint.getSize());
+        Assertions.assertEquals("9a0364b9e99bb480dd25e1f0284c8555", fingerprint.getMd5());
+        Assertions.assertSame(fingerprint, miaFileService.get().getFingerprint(file, true));
+        Files.writeString(file.toPath(), "changed content");
+        final FileFingerprint changedFingerprint = miaFileService.get().getFingerprint(file, true);
+        Assertions.assertNotEquals(fingerprint.getMd5(), changedFingerprint.getMd5());
+        Assertions.assertEquals(15, changedFingerprint.getSize());
+    }
+
+    @Test
+    public void getFingerprint_whenChecksumIsNotRequested_thenHashIsCalculatedOnlyOnRequest() throws IOException {
+        final File file = miaContext.get().getProjectPathWithType(ProjectFileType.MIA_FILE_TYPE_UPLOAD)
+                .resolve("fingerprintWithoutChecksum.txt").toFile();
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), "content");
+        final FileFingerprint fingerprint = miaFileService.get().getFingerprint(file, false);
+        Assertions.assertEquals(7, fingerprint.getSize());
+        Assertions.assertNull(fingerprint.getMd5());
+        Assertions.assertSame(fingerprint, miaFileService.get().getFingerprint(file, false));
+        final FileFingerprint withChecksum = miaFileService.get().getFingerprint(file, true);
+        Assertions.assertEquals("9a0364b9e99bb480dd25e1f0284c8555", withChecksum.getMd5());
+        Assertions.assertSame(withChecksum, miaFileService.get().getFingerprint(file, false));
+    }
 }
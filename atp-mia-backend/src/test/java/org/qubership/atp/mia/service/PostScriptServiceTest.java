@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.service.execution.PostScriptService;
+
+public class PostScriptServiceTest {
+
+    private PostScriptService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new PostScriptService(1, 10, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void execute_reusesEngineWithIsolatedBindings() throws ScriptException {
+        String script = "var result = (typeof previous) + ':' + value; previous = value;";
+        assertEquals("undefined:1", service.execute(script, Map.of("value", 1)).get("result"));
+        assertEquals("undefined:2", service.execute(script, Map.of("value", 2)).get("result"));
+        assertEquals(1, service.idleEngines());
+    }
+
+    @Test
+    public void execute_throwsScriptException_whenTimeoutExceeded() throws ScriptException {
+        ScriptException exception = assertThrows(ScriptException.class,
+                () -> service.execute("var end = Date.now() + 2500; while (Date.now() < end) {}", Map.of()));
+        assertTrue(exception.getMessage().contains("exceeded 1 seconds"));
+        assertEquals(0, service.idleEngines());
+        // abandoned script is still running and keeps its place in pool
+        exception = assertThrows(ScriptException.class, () -> service.execute("var a = 1;", Map.of()));
+        assertTrue(exception.getMessage().contains("No free script engine"));
+        // place is released when script finishes, its engine isn't reused
+        assertEquals(1, service.execute("var a = 1;", Map.of()).get("a"));
+        assertEquals(1, service.idleEngines());
+    }
+}
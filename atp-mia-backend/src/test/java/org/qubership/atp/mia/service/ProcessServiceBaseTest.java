@@ -44,6 +44,7 @@ import org.qubership.atp.mia.repo.impl.ProcessStatusRepository;
 import org.qubership.atp.mia.service.execution.CompoundService;
 import org.qubership.atp.mia.service.execution.ProcessService;
 import org.qubership.atp.mia.service.execution.RecordingSessionsService;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
 import org.qubership.atp.mia.service.execution.RestExecutionHelperService;
 import org.qubership.atp.mia.service.execution.SoapExecutionHelperService;
 import org.qubership.atp.mia.service.execution.SqlExecutionHelperService;
@@ -83,6 +84,7 @@ public abstract class ProcessServiceBaseTest extends ConfigTestBean {
                         mock(MetricsAggregateService.class),
                         mock(RecordingSessionsService.class),
                         gridFsService.get(),
+                        mock(RequestLogWriter.class),
                         spy(new ProcessStatusRepository(miaContext.get())),
                         "", "http://atp-mia.com/project/%s/mia/execution?entityId=%s",
                         sseEmitterService.get()
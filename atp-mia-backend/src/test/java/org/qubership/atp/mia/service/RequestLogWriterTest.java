@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.mia.model.impl.CommandResponse;
+import org.qubership.atp.mia.model.impl.ExecutionResponse;
+import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.service.execution.RequestLogWriter;
+
+public class RequestLogWriterTest {
+
+    private final RequestLogWriter writer = new RequestLogWriter(1, 5);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        writer.destroy();
+    }
+
+    @Test
+    public void write_writesCopyOfRecordWithTruncatedValues_whenFlushed() throws IOException {
+        Map<String, String> record = new HashMap<>();
+        record.put("bodyResponse", "1234567890");
+        File file = tempDir.resolve("REST_FULL_INFO.json").toFile();
+        CompletableFuture<Void> written = writer.write(record, file);
+        record.remove("bodyResponse");
+        written.join();
+        assertEquals("{\"bodyResponse\":\"12345... [truncated, 10 characters in total]\"}",
+                Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void write_writesAllRecords_whenQueueIsFull() throws IOException {
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            written.add(writer.write(Map.of("user", "u" + i), tempDir.resolve("FULL_INFO_" + i + ".json").toFile()));
+        }
+        written.forEach(CompletableFuture::join);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("{\"user\":\"u" + i + "\"}",
+                    Files.readString(tempDir.resolve("FULL_INFO_" + i + ".json")));
+        }
+    }
+
+    @Test
+    public void await_waitsUntilRecordsOfExecutionAreWritten() throws IOException {
+        File file = tempDir.resolve("SOAP_FULL_INFO.json").toFile();
+        CommandOutput output = new CommandOutput(file.getPath(), null, false, mock(MiaContext.class));
+        output.setWritten(writer.write(Map.of("user", "u"), file));
+        ExecutionResponse response = new ExecutionResponse();
+        response.setCommandResponse(new CommandResponse(output));
+        writer.await(response);
+        assertEquals("{\"user\":\"u\"}", Files.readString(file.toPath()));
+    }
+}
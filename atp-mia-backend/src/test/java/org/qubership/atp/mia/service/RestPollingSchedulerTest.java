@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.service.execution.RestPollingScheduler;
+
+public class RestPollingSchedulerTest {
+
+    private final RestPollingScheduler scheduler = new RestPollingScheduler();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    public void poll_stopsWhenConditionMet() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        RestPollingScheduler.Polling<Integer> polling = scheduler.poll(
+                () -> CompletableFuture.completedFuture(counter.incrementAndGet()),
+                value -> value == 2, value -> "value " + value, 5, 10).get(5, TimeUnit.SECONDS);
+        assertTrue(polling.isConditionMet());
+        assertEquals(2, polling.getAttempts());
+        assertEquals(Integer.valueOf(2), polling.getResult());
+        assertEquals(2, polling.getHistory().size());
+        assertTrue(polling.getHistory().get(1).endsWith("value 2, condition met"));
+    }
+
+    @Test
+    public void poll_stopsAfterMaxAttempts() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        RestPollingScheduler.Polling<Integer> polling = scheduler.poll(
+                () -> CompletableFuture.completedFuture(counter.incrementAndGet()),
+                value -> false, value -> "value " + value, 3, 10).get(5, TimeUnit.SECONDS);
+        assertFalse(polling.isConditionMet());
+        assertEquals(3, polling.getAttempts());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    public void poll_completesExceptionally_whenAttemptFails() {
+        CompletableFuture<RestPollingScheduler.Polling<Integer>> polling = scheduler.poll(
+                () -> CompletableFuture.failedFuture(new IOException("connection refused")),
+                value -> false, value -> "value " + value, 3, 10);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> polling.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    public void poll_closesResultsOfPreviousAttempts() throws Exception {
+        List<AtomicBoolean> closed = new ArrayList<>();
+        RestPollingScheduler.Polling<AutoCloseable> polling = scheduler.poll(() -> {
+            AtomicBoolean resultClosed = new AtomicBoolean();
+            closed.add(resultClosed);
+            return CompletableFuture.<AutoCloseable>completedFuture(() -> resultClosed.set(true));
+        }, value -> false, value -> "value", 3, 10).get(5, TimeUnit.SECONDS);
+        assertEquals(3, closed.size());
+        assertTrue(closed.get(0).get());
+        assertTrue(closed.get(1).get());
+        assertFalse(closed.get(2).get());
+        polling.getResult().close();
+    }
+}
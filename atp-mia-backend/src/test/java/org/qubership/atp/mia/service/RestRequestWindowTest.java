@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.mia.exceptions.rest.RestNotFoundException;
+import org.qubership.atp.mia.model.impl.CommandResponse;
+import org.qubership.atp.mia.model.impl.executable.Command;
+import org.qubership.atp.mia.model.impl.executable.Rest;
+import org.qubership.atp.mia.repo.impl.PendingRestRequest;
+import org.qubership.atp.mia.service.execution.RestExecutionHelperService;
+import org.qubership.atp.mia.service.execution.RestRequestWindow;
+
+public class RestRequestWindowTest {
+
+    private static void handle(RestRequestWindow window, Command command, List<String> handled) {
+        window.submit(command, response -> {
+            try {
+                response.get();
+                handled.add(command.getName());
+            } catch (RuntimeException e) {
+                handled.add(command.getName() + " ERROR");
+            }
+        });
+    }
+
+    private static Command command(String name) {
+        Command command = new Command();
+        command.setName(name);
+        return command;
+    }
+
+    @Test
+    public void submit_handlesResponsesInOrderWithinWindow() {
+        RestExecutionHelperService restService = mock(RestExecutionHelperService.class);
+        when(restService.sendRestRequestAsync(any())).thenReturn(mock(PendingRestRequest.class));
+        when(restService.awaitRestResponse(any())).thenReturn(new CommandResponse());
+        Command failed = command("second");
+        when(restService.sendRestRequestAsync(failed)).thenThrow(new RestNotFoundException());
+        List<String> handled = new ArrayList<>();
+        try (RestRequestWindow window = new RestRequestWindow(restService, 2)) {
+            handle(window, command("first"), handled);
+            handle(window, failed, handled);
+            assertEquals(0, handled.size());
+            handle(window, command("third"), handled);
+            assertEquals(List.of("first"), handled);
+        }
+        assertEquals(List.of("first", "second ERROR", "third"), handled);
+        verify(restService, never()).sendRestRequest(any());
+    }
+
+    @Test
+    public void submit_executesSynchronouslyAfterWindow_whenCommandChangesFlowData() {
+        RestExecutionHelperService restService = mock(RestExecutionHelperService.class);
+        when(restService.sendRestRequestAsync(any())).thenReturn(mock(PendingRestRequest.class));
+        when(restService.awaitRestResponse(any())).thenReturn(new CommandResponse());
+        when(restService.sendRestRequest(any())).thenReturn(new CommandResponse());
+        Command withScript = command("script");
+        withScript.setRest(Rest.builder().script("context.set('a', 'b')").build());
+        Command withCookie = command("cookie");
+        withCookie.setRest(Rest.builder().saveCookie(true).build());
+        List<String> handled = new ArrayList<>();
+        try (RestRequestWindow window = new RestRequestWindow(restService, 2)) {
+            handle(window, command("first"), handled);
+            handle(window, withScript, handled);
+            assertEquals(List.of("first", "script"), handled);
+            handle(window, withCookie, handled);
+            assertEquals(List.of("first", "script", "cookie"), handled);
+        }
+        verify(restService).sendRestRequest(withScript);
+        verify(restService).sendRestRequest(withCookie);
+        verify(restService, never()).sendRestRequestAsync(withScript);
+    }
+
+    @Test
+    public void submit_executesSynchronously_whenWindowIsEmpty() {
+        RestExecutionHelperService restService = mock(RestExecutionHelperService.class);
+        when(restService.sendRestRequest(any())).thenReturn(new CommandResponse());
+        List<String> handled = new ArrayList<>();
+        try (RestRequestWindow window = new RestRequestWindow(restService, 0)) {
+            handle(window, command("first"), handled);
+            assertEquals(List.of("first"), handled);
+        }
+        verify(restService, never()).sendRestRequestAsync(any());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.qubership.atp.mia.utils.Utils.listToSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.qubership.atp.mia.ConfigTestBean;
+import org.qubership.atp.mia.SkipTestInJenkins;
+import org.qubership.atp.mia.model.environment.Connection;
+import org.qubership.atp.mia.model.environment.Server;
+import org.qubership.atp.mia.model.impl.CommandResponse;
+import org.qubership.atp.mia.model.impl.executable.Command;
+import org.qubership.atp.mia.model.impl.output.CommandOutput;
+import org.qubership.atp.mia.repo.impl.ShellRepository;
+import org.qubership.atp.mia.service.execution.SshExecutionHelperService;
+import org.qubership.atp.mia.service.file.MiaFileService;
+
+@ExtendWith(SkipTestInJenkins.class)
+public class SshExecutionHelperServiceTest extends ConfigTestBean {
+
+    private final ShellRepository shellRepository = mock(ShellRepository.class);
+    private final Map<String, String> streamedFiles = new LinkedHashMap<>();
+    private SshExecutionHelperService service;
+
+    @BeforeEach
+    public void prepare() throws IOException {
+        final Path projectPath = Files.createDirectories(miaContext.get().getProjectFilePath());
+        final Path log = Files.createDirectories(miaContext.get().getLogPath()).resolve("command.log");
+        Files.writeString(projectPath.resolve("ethalon.txt"), "generated before: :generatedFiles\n");
+        Files.writeString(log, "done\n");
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("ssh_streamGeneratedFiles", "true");
+        when(shellRepository.getServer(any())).thenReturn(new Server(Connection.builder()
+                .id(UUID.randomUUID())
+                .sourceTemplateId(Connection.SourceTemplateId.SSH.id)
+                .parameters(parameters)
+                .build(), "ssh"));
+        when(shellRepository.uploadStreamsOnServer(any(), anyString(), anyMap())).thenAnswer(invocation -> {
+            final Map<String, Consumer<OutputStream>> writers = invocation.getArgument(2);
+            // the second call simulates retry of upload
+            for (int attempt = 0; attempt < 2; attempt++) {
+                writers.forEach((name, writer) -> {
+                    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    writer.accept(out);
+                    streamedFiles.put(name, out.toString(StandardCharsets.UTF_8));
+                });
+            }
+            return true;
+        });
+        when(shellRepository.executeAndGetLog(any())).thenAnswer(invocation ->
+                new CommandResponse(new CommandOutput(log.toString(), null, false, miaContext.get())));
+        service = new SshExecutionHelperService(shellRepository, miaContext.get(), mock(MiaFileService.class));
+    }
+
+    private Command command(String... namesOfFiles) {
+        return Command.builder()
+                .name("generate")
+                .type("SSH_GenerationEventFiles")
+                .values(listToSet("ls"))
+                .ethalonFilesForGeneration(Collections.nCopies(namesOfFiles.length, "ethalon.txt"))
+                .namesOfFilesForGeneration(List.of(namesOfFiles))
+                .fileExtension(".txt")
+                .pathForUpload("/tmp/mia/")
+                .regexpForFileRetrieve("NOT_PRESENT_(\\S+)")
+                .saveGeneratedFilesToParameter("generatedFiles")
+                .build();
+    }
+
+    @Test
+    public void generateEventFiles_streamedFilesSeePreviousGeneratedFiles() {
+        miaContext.get().getFlowData().addParameter("generatedFiles", "[initial.txt]");
+        service.generateEventFilesAndExecuteCommand(command("first", "second", "third"));
+        assertEquals("generated before: [initial.txt]\n", streamedFiles.get("first.txt"));
+        assertEquals("generated before: [initial.txt,first.txt]\n", streamedFiles.get("second.txt"));
+        assertEquals("generated before: [initial.txt,first.txt,second.txt]\n", streamedFiles.get("third.txt"));
+    }
+
+    @Test
+    public void generateEventFiles_isNotStreamed_whenNamesOfFilesAreTheSame() {
+        service.generateEventFilesAndExecuteCommand(command("same", "same"));
+        verify(shellRepository, never()).uploadStreamsOnServer(any(), anyString(), anyMap());
+    }
+}
@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -153,7 +154,7 @@ public class TestDataHelperServiceTest extends ConfigTestBean {
         new MacrosRegistrator().register();
         final ProcessSettings process = DeserializerConfigBaseTest.getEventTestData().getProcessSettings();
         CommandResponse commandResponse = new CommandResponse(new CommandOutput("", "", false, miaContext.get()));
-        Mockito.doNothing().when(shellRepository.get()).uploadFileOnServer(any(Server.class), anyString(), any(File.class));
+        Mockito.doNothing().when(shellRepository.get()).uploadFilesOnServer(any(Server.class), anyString(), anyList());
         Mockito.doReturn(commandResponse).when(shellRepository.get()).executeAndGetLog(any());
         CommandResponse response = testDataService.get().event(process.getCommand());
         assertEquals(4, response.getCommandOutputs().size());
@@ -204,7 +205,7 @@ public class TestDataHelperServiceTest extends ConfigTestBean {
         process.getCommand().setNamesOfFilesForGeneration(
                 Collections.singletonList(":EVENT_ATTR_8-event_file_sub_${Timestamp(YYYYMMdd_hhmmss_S)}"));
         CommandResponse commandResponse = new CommandResponse(new CommandOutput("", "", false, miaContext.get()));
-        Mockito.doNothing().when(shellRepository.get()).uploadFileOnServer(any(Server.class), anyString(), any(File.class));
+        Mockito.doNothing().when(shellRepository.get()).uploadFilesOnServer(any(Server.class), anyString(), anyList());
         Mockito.doReturn(commandResponse).when(shellRepository.get()).executeAndGetLog(any());
         CommandResponse response = testDataService.get().event(process.getCommand());
         assertTrue(response.getCommandOutputs().get(1).getLink().getName().contains(expectedFilename));
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.mia.model.pot.db.table.DbTable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonTableExtractorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ROWS = "[{\"id\":1,\"name\":\"first, one\"},"
+            + "{\"id\":2,\"status\":{\"code\":0}},"
+            + "{\"name\":null,\"status\":\"DONE\"}]";
+
+    @TempDir
+    Path tempDir;
+
+    private static DbTable extract(JsonTableExtractor extractor, String json) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            parser.nextToken();
+            extractor.readRows(parser);
+            return extractor.toTable();
+        }
+    }
+
+    @Test
+    public void readRows_discoversColumnsAndFillsMissingValues() throws IOException {
+        try (JsonTableExtractor extractor = new JsonTableExtractor(0, null)) {
+            DbTable table = extract(extractor, ROWS);
+            assertEquals(List.of("id", "name", "status"), table.getColumns());
+            assertEquals(Arrays.asList(
+                    Arrays.asList("1", "first, one", null),
+                    Arrays.asList("2", null, "{\"code\":0}"),
+                    Arrays.asList(null, null, "DONE")), table.getData());
+            assertEquals(3, table.getActualDataSizeBeforeLimit());
+            assertFalse(extractor.isCsvWritten());
+        }
+    }
+
+    @Test
+    public void readRows_keepsLimitedRowsAndSavesAllRowsToCsv() throws IOException {
+        File csv = tempDir.resolve("table.csv").toFile();
+        try (JsonTableExtractor extractor = new JsonTableExtractor(1, csv)) {
+            DbTable table = extract(extractor, ROWS);
+            assertEquals(1, table.getData().size());
+            assertEquals(3, table.getActualDataSizeBeforeLimit());
+            assertTrue(extractor.isCsvWritten());
+        }
+        assertEquals(List.of("id,name,status,", "1,first. one,", "2,,{\"code\":0},", ",,DONE,"),
+                Files.readAllLines(csv.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void readRows_usesPredefinedColumnsForArrays() throws IOException {
+        try (JsonTableExtractor extractor = new JsonTableExtractor(0, null)) {
+            extractor.setColumns(List.of("ID", "STATUS"));
+            DbTable table = extract(extractor, "[[\"1\",\"PASSED\"],[2,false]]");
+            assertEquals(List.of("ID", "STATUS"), table.getColumns());
+            assertEquals(List.of(List.of("1", "PASSED"), List.of("2", "false")), table.getData());
+        }
+    }
+}
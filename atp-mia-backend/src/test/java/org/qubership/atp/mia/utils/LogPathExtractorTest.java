@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogPathExtractorTest {
+
+    private static final String REGEX = "/tmp/out_\\d+\\.csv";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void accept_findsAllPathsInLineInOrderOfAppearance() {
+        LogPathExtractor extractor = new LogPathExtractor(REGEX);
+        extractor.accept("created /tmp/out_2.csv and /tmp/out_1.csv");
+        extractor.accept("nothing here");
+        extractor.accept("created /tmp/out_2.csv again");
+        assertEquals(List.of("/tmp/out_2.csv", "/tmp/out_1.csv", "/tmp/out_2.csv"), extractor.getPaths());
+    }
+
+    @Test
+    public void getPathToFileOutOfLog_readsLogLineByLine() throws IOException {
+        Path log = tempDir.resolve("command.log");
+        Files.writeString(log, "start\n/tmp/out_1.csv\n/tmp/out_1.csv\nend /tmp/out_3.csv\n");
+        assertEquals(List.of("/tmp/out_1.csv", "/tmp/out_1.csv", "/tmp/out_3.csv"),
+                Utils.getPathToFileOutOfLog(log.toString(), REGEX));
+    }
+
+    @Test
+    public void isLineByLine_isFalse_whenRegexDependsOnLineTerminators() {
+        assertTrue(LogPathExtractor.isLineByLine(REGEX));
+        assertTrue(LogPathExtractor.isLineByLine("/tmp/\\S+\\.csv"));
+        assertFalse(LogPathExtractor.isLineByLine("^/tmp/out_\\d+\\.csv$"));
+        assertFalse(LogPathExtractor.isLineByLine("(?s)path:.+\\.csv"));
+        assertFalse(LogPathExtractor.isLineByLine("/tmp/[^,]+\\.csv"));
+        assertFalse(LogPathExtractor.isLineByLine("path:\\s*/tmp/out_\\d+\\.csv"));
+    }
+
+    @Test
+    public void getPathToFileOutOfLog_matchesWholeLog_whenRegexHasAnchors() throws IOException {
+        Path log = tempDir.resolve("command.log");
+        Files.writeString(log, "start\n/tmp/out_1.csv\nend /tmp/out_3.csv\n");
+        // without multiline flag anchors are boundaries of whole log, not of line
+        assertEquals(List.of(), Utils.getPathToFileOutOfLog(log.toString(), "^/tmp/out_\\d+\\.csv$"));
+        assertEquals(List.of("/tmp/out_1.csv"),
+                Utils.getPathToFileOutOfLog(log.toString(), "(?m)^/tmp/out_\\d+\\.csv$"));
+    }
+
+    @Test
+    public void getPathToFileOutOfLog_findsPathSplitToSeveralLines_whenRegexMatchesLineTerminator()
+            throws IOException {
+        Path log = tempDir.resolve("command.log");
+        Files.writeString(log, "file:\n/tmp/out_1.csv\n");
+        assertEquals(List.of("file:\n/tmp/out_1.csv"),
+                Utils.getPathToFileOutOfLog(log.toString(), "file:\\s+/tmp/out_\\d+\\.csv"));
+    }
+}
@@ -42,9 +42,11 @@ import org.qubership.atp.mia.model.impl.executable.Command;
 import org.qubership.atp.mia.model.impl.output.CommandOutput;
 import org.qubership.atp.mia.model.impl.output.MarkedContent;
 import org.qubership.atp.mia.model.pot.Marker;
+import org.qubership.atp.mia.model.pot.MarkerMatcher;
 import org.qubership.atp.mia.model.pot.ProcessStatus;
 import org.qubership.atp.mia.model.pot.Statuses;
 import org.qubership.atp.mia.repo.impl.ProcessStatusRepository;
+import org.qubership.atp.mia.repo.impl.ShellRepository;
 import org.qubership.atp.mia.service.DeserializerConfigBaseTest;
 
 @ExtendWith(SkipTestInJenkins.class)
@@ -547,6 +549,58 @@ public class ProcessStatusRepositoryTest extends ConfigTestBean {
         checkParseMarkerWillThrowException_whenIncorrectRegexpInMarker(getMarker(null, null, REGEXP_INCORRECT));
     }
 
+    @Test
+    public void parseLogStatusShouldThrowException_whenIncorrectRegexpInMarker() {
+        ExecutionResponse executionResponse = new ExecutionResponse();
+        preparationForParseLogStatus(executionResponse);
+        mockContentFile(executionResponse, PATH_FAIL_MARKER);
+        executionResponse.getProcessStatus().getMarker().setFailedMarkersForLog(List.of(REGEXP_INCORRECT));
+        Assertions.assertThrows(MarkerRegexException.class,
+                () -> processStatusRepository.get().parseLogStatus(executionResponse));
+    }
+
+    @Test
+    public void parseLogStatus_usesMarkerMatcherOfCapturedOutput_insteadOfReadingLog() {
+        ExecutionResponse executionResponse = new ExecutionResponse();
+        preparationForParseLogStatus(executionResponse);
+        mockContentFile(executionResponse, PATH_WITHOUT_MARKERS);
+        MarkerMatcher markerMatcher = executionResponse.getProcessStatus().getMarker().compile();
+        markerMatcher.accept(String.format(LINE_TO_CHECK, FAILED));
+        CommandOutput output = executionResponse.getCommandResponse().getCommandOutputs().getFirst();
+        output.setMarkerMatcher(markerMatcher);
+        processStatusRepository.get().parseLogStatus(executionResponse);
+        assertEquals(Statuses.FAIL, executionResponse.getProcessStatus().getStatus());
+        assertEquals(List.of(new MarkedContent(String.format(LINE_TO_CHECK, FAILED), Statuses.FAIL)),
+                output.getMarkedContent());
+    }
+
+    @Test
+    public void parseExitStatus_setsWarning_whenExitStatusIsNotZero() {
+        ExecutionResponse response = generateResponseWithCode(false, "200", null);
+        response.getCommandResponse().getConnectionInfo().put(ShellRepository.EXIT_STATUS, "0");
+        preparationForParseLogStatus(response, false);
+        processStatusRepository.get().parseExitStatusAndUpdateStatus(response);
+        assertEquals(Statuses.SUCCESS, response.getProcessStatus().getStatus());
+        response.getCommandResponse().getConnectionInfo().put(ShellRepository.EXIT_STATUS, "2");
+        processStatusRepository.get().parseExitStatusAndUpdateStatus(response);
+        assertEquals(Statuses.WARNING, response.getProcessStatus().getStatus());
+        response.getProcessStatus().setStatus(Statuses.FAIL);
+        processStatusRepository.get().parseExitStatusAndUpdateStatus(response);
+        assertEquals(Statuses.FAIL, response.getProcessStatus().getStatus());
+    }
+
+    @Test
+    public void parseExitStatus_setsFail_whenCommandIsAbortedOnFailMarker() {
+        ExecutionResponse response = generateResponseWithCode(false, "200", null);
+        response.getCommandResponse().getConnectionInfo().put(ShellRepository.EXIT_STATUS, "-1");
+        preparationForParseLogStatus(response, false);
+        processStatusRepository.get().parseExitStatusAndUpdateStatus(response);
+        assertEquals(Statuses.WARNING, response.getProcessStatus().getStatus());
+        response.getCommandResponse().getConnectionInfo().put(ShellRepository.ABORTED, "true");
+        processStatusRepository.get().parseExitStatusAndUpdateStatus(response);
+        assertEquals(Statuses.FAIL, response.getProcessStatus().getStatus());
+    }
+
     private void checkParseMarkerWillThrowException_whenIncorrectRegexpInMarker(Marker marker) {
         String markerRegex;
         String erroredMarker;
@@ -18,16 +18,39 @@
 package org.qubership.atp.mia.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.qubership.atp.mia.model.impl.executable.Rest;
+import org.qubership.atp.mia.repo.impl.pool.rest.RestClientPool;
 import org.qubership.atp.mia.repo.impl.RestRepositoryTestConfiguration;
 import org.qubership.atp.mia.service.execution.RestClientService;
 import org.slf4j.LoggerFactory;
@@ -35,6 +58,7 @@ import org.slf4j.LoggerFactory;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import com.sun.net.httpserver.HttpServer;
 
 public class RestClientExecutorImplTest extends RestRepositoryTestConfiguration {
 
@@ -42,7 +66,7 @@ public class RestClientExecutorImplTest extends RestRepositoryTestConfiguration
 
     @BeforeEach
     public void beforeRestClientExecutorImplTest() {
-        restClientService.set(new RestClientService(miaContext.get()));
+        restClientService.set(new RestClientService(miaContext.get(), mock(RestClientPool.class)));
     }
 
     @Test
@@ -75,6 +99,49 @@ public class RestClientExecutorImplTest extends RestRepositoryTestConfiguration
     }
 
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void executeRestRequestAsync_cancelsExchange_whenFutureIsCancelled() {
+        CloseableHttpAsyncClient client = mock(CloseableHttpAsyncClient.class);
+        Future<ClassicHttpResponse> execution = mock(Future.class);
+        when(client.execute(any(AsyncRequestProducer.class), any(AsyncResponseConsumer.class),
+                any(FutureCallback.class))).thenReturn(execution);
+        CompletableFuture<ClassicHttpResponse> response = restClientService.get()
+                .executeRestRequestAsync(client, new HttpGet("http://localhost:8080/"));
+        response.cancel(true);
+        verify(execution).cancel(true);
+    }
+
+    @Test
+    public void executeRestRequestAsync_keepsWholeDecompressedBodyInTemporaryFile() throws Exception {
+        final String expected = "a".repeat(100_000);
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = new GZIPOutputStream(exchange.getResponseBody())) {
+                body.write(expected.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        httpServer.start();
+        try (CloseableHttpAsyncClient client = HttpAsyncClients.createDefault()) {
+            client.start();
+            ClassicHttpResponse response = restClientService.get().executeRestRequestAsync(client,
+                    new HttpGet("http://localhost:" + httpServer.getAddress().getPort() + "/"))
+                    .get(30, TimeUnit.SECONDS);
+            assertEquals(200, response.getCode());
+            HttpEntity entity = response.getEntity();
+            assertTrue(entity.isRepeatable());
+            assertEquals(expected, EntityUtils.toString(entity));
+            assertEquals(expected, EntityUtils.toString(entity));
+            entity.close();
+            assertThrows(IOException.class, entity::getContent);
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
     @Test
     public void getPrettyStringFromXml() {
         System.setProperty("javax.xml.transform.TransformerFactory", "com.sun.org.apache.xalan.internal.xsltc.trax.TransformerFactoryImpl");
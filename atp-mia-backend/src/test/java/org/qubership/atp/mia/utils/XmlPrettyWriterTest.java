@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2024-2026 NetCracker Technology Corporation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.qubership.atp.mia.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+
+public class XmlPrettyWriterTest {
+
+    private static String prettyPrint(String xml) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlPrettyWriter.write(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void write_indentsElements() throws XMLStreamException {
+        String xml = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<soapenv:Body>\n   <ns1:result xmlns:ns1=\"urn:result\">"
+                + "<ns1:code>0 &amp; 1</ns1:code></ns1:result></soapenv:Body></soapenv:Envelope>";
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">\n"
+                + "  <soapenv:Body>\n"
+                + "    <ns1:result xmlns:ns1=\"urn:result\">\n"
+                + "      <ns1:code>0 &amp; 1</ns1:code>\n"
+                + "    </ns1:result>\n"
+                + "  </soapenv:Body>\n"
+                + "</soapenv:Envelope>", prettyPrint(xml));
+    }
+
+    @Test
+    public void write_keepsMixedContent() throws XMLStreamException {
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root>\n  <m>text <b>bold</b> tail</m>\n</root>",
+                prettyPrint("<root><m>text <b>bold</b> tail</m></root>"));
+    }
+
+    @Test
+    public void write_throwsException_whenXmlIsMalformed() {
+        assertThrows(XMLStreamException.class, () -> prettyPrint("<root><unclosed></root>"));
+    }
+}
@@ -78,7 +78,20 @@ ATP_MIA_CRON_CLEAN_LOGS: "{{ .Values.ATP_MIA_CRON_CLEAN_LOGS }}"
 ATP_MIA_CRON_CLEAN_METRIC: "{{ .Values.ATP_MIA_CRON_CLEAN_METRIC }}"
 ATP_MIA_CRON_CLEAN_POSTGRESQL: '{{ .Values.ATP_MIA_CRON_CLEAN_POSTGRESQL }}'
 ATP_MIA_PROJECTS_CONFIG: "{{ .Values.ATP_MIA_PROJECTS_CONFIG }}"
+ATP_MIA_REQUEST_LOG_BODY_MAX_LENGTH: "{{ .Values.ATP_MIA_REQUEST_LOG_BODY_MAX_LENGTH }}"
+ATP_MIA_REQUEST_LOG_QUEUE_SIZE: "{{ .Values.ATP_MIA_REQUEST_LOG_QUEUE_SIZE }}"
+ATP_MIA_REST_ASYNC_ENABLED: "{{ .Values.ATP_MIA_REST_ASYNC_ENABLED }}"
+ATP_MIA_REST_ASYNC_MAX_IN_FLIGHT: "{{ .Values.ATP_MIA_REST_ASYNC_MAX_IN_FLIGHT }}"
+ATP_MIA_REST_CLOSE_DELAY: "{{ .Values.ATP_MIA_REST_CLOSE_DELAY }}"
 ATP_MIA_REST_EXECUTION_TIMEOUT: "{{ .Values.ATP_MIA_REST_EXECUTION_TIMEOUT }}"
+ATP_MIA_REST_POOL_MAX_PER_ROUTE: "{{ .Values.ATP_MIA_REST_POOL_MAX_PER_ROUTE }}"
+ATP_MIA_REST_POOL_MAX_TOTAL: "{{ .Values.ATP_MIA_REST_POOL_MAX_TOTAL }}"
+ATP_MIA_REST_RESPONSE_BODY_MAX_SIZE: "{{ .Values.ATP_MIA_REST_RESPONSE_BODY_MAX_SIZE }}"
+ATP_MIA_REST_SCRIPT_CACHE_SIZE: "{{ .Values.ATP_MIA_REST_SCRIPT_CACHE_SIZE }}"
+ATP_MIA_REST_SCRIPT_POOL_SIZE: "{{ .Values.ATP_MIA_REST_SCRIPT_POOL_SIZE }}"
+ATP_MIA_REST_SCRIPT_TIMEOUT: "{{ .Values.ATP_MIA_REST_SCRIPT_TIMEOUT }}"
+ATP_MIA_SOAP_RESPONSE_PRETTY_MAX_SIZE: "{{ .Values.ATP_MIA_SOAP_RESPONSE_PRETTY_MAX_SIZE }}"
+ATP_MIA_SOAP_SSL_TRUST_ALL: "{{ .Values.ATP_MIA_SOAP_SSL_TRUST_ALL }}"
 ATP_SERVICE_PATH: "{{ .Values.ATP_SERVICE_PATH }}"
 ATP_SERVICE_PUBLIC: "{{ .Values.ATP_SERVICE_PUBLIC }}"
 AUDIT_LOGGING_ENABLE: "{{ .Values.AUDIT_LOGGING_ENABLE }}"
@@ -203,6 +216,7 @@ SERVICE_NAME: "{{ .Values.SERVICE_NAME }}"
 SERVICE_REGISTRY_URL: "{{ .Values.SERVICE_REGISTRY_URL }}"
 ACTIVE_PROFILES_SPRING: "{{ .Values.ACTIVE_PROFILES_SPRING }}"
 SSH_CLOSE_DELAY: "{{ .Values.SSH_CLOSE_DELAY }}"
+EXECUTION_VIRTUAL_THREADS_ENABLED: "{{ .Values.EXECUTION_VIRTUAL_THREADS_ENABLED }}"
 SWAGGER_ENABLED: "{{ .Values.SWAGGER_ENABLED }}"
 FE_VARIABLES_FILE_PATH: "{{ .Values.FE_VARIABLES_FILE_PATH }}"
 FE_VARIABLES_FILE_NAME: "{{ .Values.FE_VARIABLES_FILE_NAME }}"